@@ -1,16 +1,18 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
+import ru.practicum.shareit.export.ExportFormat;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,46 +20,57 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> create(Long userId, BookingDto requestDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, BookingDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getAllByBooker(Long userId, State state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> createAll(Long userId, List<BookingDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
     }
 
-    public ResponseEntity<Object> getAllByOwner(long userId, State state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllByBooker(Long userId, State state, Integer from, Integer size, String after) {
+        return getAll("", userId, state, from, size, after);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByOwner(long userId, State state, Integer from, Integer size, String after) {
+        return getAll("/owner", userId, state, from, size, after);
+    }
+
+    public void exportBookings(Long userId, ExportFormat format, HttpServletResponse response) throws IOException {
+        download("/export?format={format}", userId, Map.of("format", format), format.getMediaType(), response);
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long id) {
+    public Mono<ResponseEntity<Object>> getById(Long userId, Long id) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> approveOrReject(Long userId, Long id, Boolean approved) {
+    public Mono<ResponseEntity<Object>> approveOrReject(Long userId, Long id, Boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
         return patch("/" + id + "?approved={approved}", userId, parameters);
     }
 
+    private Mono<ResponseEntity<Object>> getAll(String path, Long userId, State state, Integer from, Integer size,
+                                                String after) {
+        if (after == null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "from", from,
+                    "size", size
+            );
+            return get(path + "?state={state}&from={from}&size={size}", userId, parameters);
+        }
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "size", size,
+                "after", after
+        );
+        return get(path + "?state={state}&size={size}&after={after}", userId, parameters);
+    }
+
 }
@@ -6,12 +6,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.export.ExportFormat;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
@@ -21,45 +28,64 @@ import javax.validation.constraints.PositiveOrZero;
 public class BookingController {
     private final BookingClient bookingClient;
     public static final String HEADER = "X-Sharer-User-Id";
+    private static final int MAX_BATCH_SIZE = 1000;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(HEADER) Long userId,
-                                         @Valid @RequestBody BookingDto requestDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(HEADER) Long userId,
+                                               @Valid @RequestBody BookingDto requestDto) {
         log.info("Поступил запрос на создание бронирования {} от пользователя с id={}", requestDto, userId);
         return bookingClient.create(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader(HEADER) Long userId,
+                                                  @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                  List<@Valid BookingDto> requestDtos) {
+        log.info("Поступил запрос на создание {} бронирований от пользователя с id={}", requestDtos.size(), userId);
+        return bookingClient.createAll(userId, requestDtos);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getAllByBooker(@RequestHeader(HEADER) Long userId,
-                                                 @RequestParam(defaultValue = "ALL") State state,
-                                                 @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                 @RequestParam(defaultValue = "20") @Positive Integer size) {
+    public Mono<ResponseEntity<Object>> getAllByBooker(@RequestHeader(HEADER) Long userId,
+                                                       @RequestParam(defaultValue = "ALL") State state,
+                                                       @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                       @RequestParam(defaultValue = "20") @Positive Integer size,
+                                                       @RequestParam(required = false) String after) {
         log.info("Поступил запрос на получение всех бронирований от пользователя с id={} со статусом {}, " +
-                "from={}, size={}", userId, state, from, size);
-        return bookingClient.getAllByBooker(userId, state, from, size);
+                "from={}, size={}, after={}", userId, state, from, size, after);
+        return bookingClient.getAllByBooker(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllByOwner(@RequestHeader(HEADER) Long userId,
-                                                @RequestParam(defaultValue = "ALL") State state,
-                                                @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                @RequestParam(defaultValue = "20") @Positive Integer size) {
+    public Mono<ResponseEntity<Object>> getAllByOwner(@RequestHeader(HEADER) Long userId,
+                                                      @RequestParam(defaultValue = "ALL") State state,
+                                                      @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                      @RequestParam(defaultValue = "20") @Positive Integer size,
+                                                      @RequestParam(required = false) String after) {
         log.info("Поступил запрос на получение всех бронирований от пользователя(owner) с id={} со статусом {}, " +
-                "from={}, size={}", userId, state, from, size);
-        return bookingClient.getAllByOwner(userId, state, from, size);
+                "from={}, size={}, after={}", userId, state, from, size, after);
+        return bookingClient.getAllByOwner(userId, state, from, size, after);
+    }
+
+    @GetMapping("/export")
+    public void exportBookings(@RequestHeader(HEADER) Long userId,
+                               @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                               HttpServletResponse response) throws IOException {
+        log.info("Поступил запрос на выгрузку всех бронирований от пользователя с id={}, format={}", userId, format);
+        bookingClient.exportBookings(userId, format, response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getById(@RequestHeader(HEADER) Long userId,
-                                          @PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader(HEADER) Long userId,
+                                                @PathVariable Long id) {
         log.info("Поступил запрос на получение бронирования с id={} от пользователя с id={}", id, userId);
         return bookingClient.getById(userId, id);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> approveOrReject(@RequestHeader(HEADER) Long userId,
-                                                  @PathVariable Long id,
-                                                  @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<Object>> approveOrReject(@RequestHeader(HEADER) Long userId,
+                                                        @PathVariable Long id,
+                                                        @RequestParam Boolean approved) {
         log.info("Поступил запрос на подтверждение/отклонение бронирования от пользователя с id={}, " +
                 "бронирование с id={}, approved={}", id, userId, approved);
         return bookingClient.approveOrReject(userId, id, approved);
@@ -2,122 +2,357 @@ package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+import ru.practicum.shareit.ratelimit.RouteFamily;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import static ru.practicum.shareit.booking.BookingController.HEADER;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "proxy-authenticate", "proxy-authorization", "date");
+
     protected final RestTemplate rest;
+    protected final WebClient webClient;
+    private final ClientMode mode;
+    private final WireFormat wireFormat;
+    private final GatewayResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ServerCallGuard serverCallGuard;
+    private final ServerBalancer serverBalancer;
+    private final RequestHedger requestHedger;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final String apiPrefix;
+    private final Set<String> invalidatedResources;
+
+    public BaseClient(ServerClientFactory clientFactory, String apiPrefix) {
+        this(clientFactory, apiPrefix, Set.of(apiPrefix));
+    }
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(ServerClientFactory clientFactory, String apiPrefix, Set<String> invalidatedResources) {
+        this.rest = clientFactory.restTemplate();
+        this.webClient = clientFactory.webClient();
+        this.mode = clientFactory.getMode();
+        this.wireFormat = clientFactory.getWireFormat();
+        this.responseCache = clientFactory.getResponseCache();
+        this.requestCoalescer = clientFactory.getRequestCoalescer();
+        this.serverCallGuard = clientFactory.getServerCallGuard();
+        this.serverBalancer = clientFactory.getServerBalancer();
+        this.requestHedger = clientFactory.getRequestHedger();
+        this.readYourWritesTracker = clientFactory.getReadYourWritesTracker();
+        this.apiPrefix = apiPrefix;
+        this.invalidatedResources = invalidatedResources;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected Mono<ResponseEntity<Object>> getCached(String path) {
+        return getCached(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> getCached(String path, long userId) {
+        return getCached(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> getCached(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return getCached(path, userId, parameters, false);
+    }
+
+    protected Mono<ResponseEntity<Object>> getRevalidated(String path, long userId) {
+        return getCached(path, userId, null, true);
+    }
+
+    private Mono<ResponseEntity<Object>> getCached(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                   boolean alwaysRevalidate) {
+        if (!responseCache.isEnabled()) {
+            return get(path, userId, parameters);
+        }
+        String key = requestKey(path, userId, parameters);
+        return Mono.defer(() -> {
+            GatewayResponseCache.Entry cached = responseCache.get(key);
+            if (cached != null && !alwaysRevalidate && responseCache.isFresh(cached)) {
+                return Mono.just(cached.getResponse());
+            }
+            long generation = responseCache.currentGeneration(apiPrefix);
+            HttpHeaders headers = defaultHeaders(userId);
+            if (cached != null && cached.getEtag() != null) {
+                headers.setIfNoneMatch(cached.getEtag());
+            }
+            String flightKey = key + "|" + generation + "|" + headers.getIfNoneMatch() + "|"
+                    + headers.containsKey(ReadYourWritesTracker.READ_YOUR_WRITES_HEADER);
+            return requestCoalescer.execute(flightKey, () -> send(HttpMethod.GET, path, headers, parameters, null))
+                    .map(response -> {
+                        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+                            responseCache.put(key, apiPrefix, cached.getResponse(), generation);
+                            return cached.getResponse();
+                        }
+                        if (response.getStatusCode() == HttpStatus.OK) {
+                            responseCache.put(key, apiPrefix, response, generation);
+                        }
+                        return response;
+                    });
+        });
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected Mono<ResponseEntity<Object>> post(String path, long userId, MediaType contentType, byte[] body) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(contentType);
+        return send(HttpMethod.POST, path, headers, null, body)
+                .doFinally(signal -> recordWrite(userId));
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    protected void download(String path, long userId, Map<String, Object> parameters, MediaType mediaType,
+                            HttpServletResponse response) throws IOException {
+        ServerEndpoint endpoint = serverBalancer.choose();
+        String url = endpoint.getUrl() + apiPrefix + path;
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(mediaType, MediaType.APPLICATION_JSON));
+        endpoint.start();
+        try {
+            rest.execute(url, HttpMethod.GET, request -> request.getHeaders().putAll(headers),
+                    serverResponse -> {
+                        copyResponse(serverResponse.getRawStatusCode(), serverResponse.getHeaders(),
+                                serverResponse.getBody(), response);
+                        return null;
+                    }, parameters);
+            serverBalancer.recordSuccess(endpoint);
+        } catch (HttpStatusCodeException e) {
+            serverBalancer.recordSuccess(endpoint);
+            copyResponse(e.getRawStatusCode(), e.getResponseHeaders(),
+                    new ByteArrayInputStream(e.getResponseBodyAsByteArray()), response);
+        } catch (ResourceAccessException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            serverBalancer.recordFailure(endpoint);
+            throw new ServerUnavailableException("Сервер недоступен для выгрузки");
+        } finally {
+            endpoint.finish();
+        }
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method == HttpMethod.GET) {
+            HttpHeaders headers = defaultHeaders(userId);
+            String flightKey = requestKey(path, userId, parameters) + "|"
+                    + responseCache.currentGeneration(apiPrefix) + "|"
+                    + headers.containsKey(ReadYourWritesTracker.READ_YOUR_WRITES_HEADER);
+            return requestCoalescer.execute(flightKey, () -> send(method, path, headers, parameters, body));
+        }
+        return send(method, path, defaultHeaders(userId), parameters, body)
+                .doFinally(signal -> recordWrite(userId));
+    }
+
+    private void recordWrite(@Nullable Long userId) {
+        responseCache.invalidate(invalidatedResources);
+        readYourWritesTracker.recordWrite(userId);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> send(HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        RouteFamily family = RouteFamily.of(method.name(), apiPrefix + path);
+        Mono<ResponseEntity<Object>> call = requestHedger.isHedged(family)
+                ? sendHedged(family, method, path, headers, parameters, body)
+                : Mono.defer(() -> sendTo(serverBalancer.choose(), method, path, headers, parameters, body));
+        return serverCallGuard.protect(family, call);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> sendHedged(RouteFamily family, HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return Mono.defer(() -> {
+            ServerEndpoint primary = serverBalancer.choose();
+            Mono<ResponseEntity<Object>> first = attempt(family, primary, method, path, headers, parameters, body);
+            Mono<ResponseEntity<Object>> hedge = Mono.delay(requestHedger.delay(family))
+                    .flatMap(tick -> {
+                        ServerEndpoint alternative = serverBalancer.choose(primary);
+                        if (alternative == primary || !requestHedger.tryHedge()) {
+                            return Mono.<ResponseEntity<Object>>empty();
+                        }
+                        return attempt(family, alternative, method, path, headers, parameters, body)
+                                .doOnNext(response -> requestHedger.recordWin());
+                    });
+            return requestHedger.race(first, hedge);
+        });
+    }
+
+    private <T> Mono<ResponseEntity<Object>> attempt(RouteFamily family, ServerEndpoint endpoint, HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        Mono<ResponseEntity<Object>> attempt = requestHedger.timed(family,
+                Mono.defer(() -> sendTo(endpoint, method, path, headers, parameters, body)));
+        return mode == ClientMode.BLOCKING ? attempt.subscribeOn(Schedulers.boundedElastic()) : attempt;
+    }
+
+    private <T> Mono<ResponseEntity<Object>> sendTo(ServerEndpoint endpoint, HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        String url = endpoint.getUrl() + apiPrefix + path;
+        endpoint.start();
+        Mono<ResponseEntity<Object>> call = mode == ClientMode.REACTIVE
+                ? exchange(method, url, headers, parameters, body)
+                : Mono.fromCallable(() -> exchangeBlocking(method, url, headers, parameters, body));
+        return call
+                .doOnNext(response -> serverBalancer.recordSuccess(endpoint))
+                .doOnError(e -> serverBalancer.recordFailure(endpoint))
+                .doFinally(signal -> endpoint.finish());
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> ResponseEntity<Object> exchangeBlocking(HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setAccept(wireFormat.isBinary()
+                ? List.of(wireFormat.getMediaType(), MediaType.APPLICATION_JSON)
+                : List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set(HEADER, String.valueOf(userId));
         }
+        if (readYourWritesTracker.wroteRecently(userId)) {
+            headers.set(ReadYourWritesTracker.READ_YOUR_WRITES_HEADER, "primary");
+        }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient
+                .method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(BaseClient::prepareGatewayResponse);
+    }
+
+    private static void copyResponse(int status, @Nullable HttpHeaders serverHeaders, InputStream body,
+                                     HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> response.addHeader(name, value));
+                }
+            });
         }
+        StreamUtils.copy(body, response.getOutputStream());
+    }
+
+    private String requestKey(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters) {
+        return apiPrefix + path + "|" + (parameters != null ? new TreeMap<>(parameters) : "") + "|" + userId;
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        return response.bodyToMono(byte[].class)
+                .map(body -> prepareGatewayResponse(response.statusCode(), headers, body))
+                .defaultIfEmpty(prepareGatewayResponse(response.statusCode(), headers, null));
+    }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders serverHeaders,
+                                                                 @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.addAll(name, values);
+                }
+            });
         }
-
-        return responseBuilder.build();
+        WireFormat format = WireFormat.of(headers.getContentType());
+        if (format.isBinary()) {
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            if (body != null) {
+                body = format.toJson(body);
+            }
+        }
+        return ResponseEntity.status(status).headers(headers).body(body);
     }
 }
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ConnectionPermitRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory delegate;
+    private final Semaphore total;
+    private final Map<String, Semaphore> routes = new ConcurrentHashMap<>();
+    private final int maxPerRoute;
+    private final long timeoutNanos;
+
+    ConnectionPermitRequestFactory(ClientHttpRequestFactory delegate, int maxTotal, int maxPerRoute,
+                                   Duration timeout) {
+        this.delegate = delegate;
+        this.total = new Semaphore(maxTotal, true);
+        this.maxPerRoute = maxPerRoute;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        Semaphore route = routes.computeIfAbsent(uri.getScheme() + "://" + uri.getAuthority(),
+                key -> new Semaphore(maxPerRoute, true));
+        return new PermitRequest(delegate.createRequest(uri, httpMethod), route);
+    }
+
+    private class PermitRequest implements ClientHttpRequest {
+        private final ClientHttpRequest request;
+        private final Semaphore route;
+
+        private PermitRequest(ClientHttpRequest request, Semaphore route) {
+            this.request = request;
+            this.route = route;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            acquire();
+            try {
+                return new PermitResponse(request.execute(), route);
+            } catch (IOException | RuntimeException e) {
+                release(route);
+                throw e;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public String getMethodValue() {
+            return request.getMethodValue();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        private void acquire() throws IOException {
+            long deadline = System.nanoTime() + timeoutNanos;
+            try {
+                if (!total.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    throw new ConnectionPoolTimeoutException("Истекло время ожидания соединения с сервером");
+                }
+                if (!route.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    total.release();
+                    throw new ConnectionPoolTimeoutException("Истекло время ожидания соединения с сервером");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Ожидание соединения с сервером прервано", e);
+            }
+        }
+    }
+
+    private class PermitResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final Semaphore route;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private PermitResponse(ClientHttpResponse response, Semaphore route) {
+            this.response = response;
+            this.route = route;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    response.close();
+                } finally {
+                    release(route);
+                }
+            }
+        }
+    }
+
+    private void release(Semaphore route) {
+        route.release();
+        total.release();
+    }
+
+}
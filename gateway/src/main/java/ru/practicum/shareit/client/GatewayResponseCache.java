@@ -0,0 +1,88 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class GatewayResponseCache {
+
+    private final Cache<String, Entry> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long maxEntryBytes;
+    private final long ttlNanos;
+
+    public GatewayResponseCache(@Value("${shareit-server.cache.enabled:true}") boolean enabled,
+                                @Value("${shareit-server.cache.max-bytes:64MB}") DataSize maxBytes,
+                                @Value("${shareit-server.cache.max-entry-bytes:256KB}") DataSize maxEntryBytes,
+                                @Value("${shareit-server.cache.ttl:30s}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxEntryBytes = maxEntryBytes.toBytes();
+        this.ttlNanos = ttl.toNanos();
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes.toBytes())
+                .weigher((String key, Entry entry) -> key.length() + entry.getBytes())
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long currentGeneration(String resource) {
+        return generation(resource).get();
+    }
+
+    public Entry get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(String key, String resource, ResponseEntity<Object> response, long requestGeneration) {
+        Object body = response.getBody();
+        int bytes = body instanceof byte[] ? ((byte[]) body).length : 0;
+        if (bytes > maxEntryBytes) {
+            entries.invalidate(key);
+            return;
+        }
+        entries.put(key, new Entry(response, response.getHeaders().getETag(), System.nanoTime() + ttlNanos,
+                resource, requestGeneration, bytes));
+    }
+
+    public void invalidate(Collection<String> resources) {
+        resources.forEach(resource -> generation(resource).incrementAndGet());
+    }
+
+    public boolean isFresh(Entry entry) {
+        return entry.getGeneration() == currentGeneration(entry.getResource())
+                && System.nanoTime() - entry.getExpiresAt() < 0;
+    }
+
+    private AtomicLong generation(String resource) {
+        return generations.computeIfAbsent(resource, key -> new AtomicLong());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final ResponseEntity<Object> response;
+        private final String etag;
+        private final long expiresAt;
+        private final String resource;
+        private final long generation;
+        private final int bytes;
+    }
+
+}
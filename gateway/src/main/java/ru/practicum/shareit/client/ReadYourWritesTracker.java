@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class ReadYourWritesTracker {
+
+    public static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(@Value("${shareit-server.read-your-writes.window:5s}") Duration window,
+                                 @Value("${shareit-server.read-your-writes.max-users:100000}") long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite(@Nullable Long userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean wroteRecently(@Nullable Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+
+    private static final String REQUESTS_METRIC = "gateway.coalescing.requests";
+
+    private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Counter upstreamRequests;
+    private final Counter coalescedRequests;
+
+    public RequestCoalescer(@Value("${shareit-server.coalescing.enabled:true}") boolean enabled,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.upstreamRequests = Counter.builder(REQUESTS_METRIC)
+                .tag("result", "upstream")
+                .description("Identical GETs that were sent to the server")
+                .register(meterRegistry);
+        this.coalescedRequests = Counter.builder(REQUESTS_METRIC)
+                .tag("result", "coalesced")
+                .description("Identical GETs that joined a call already in flight")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.ratio", this, RequestCoalescer::coalescingRatio)
+                .description("Share of GETs served by a call already in flight")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in-flight", inFlight, Map::size)
+                .description("Distinct GETs currently in flight")
+                .register(meterRegistry);
+    }
+
+    public Mono<ResponseEntity<Object>> execute(String key, Supplier<Mono<ResponseEntity<Object>>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            AtomicReference<Mono<ResponseEntity<Object>>> self = new AtomicReference<>();
+            Mono<ResponseEntity<Object>> shared = Mono.defer(call)
+                    .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                    .doOnCancel(() -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(shared);
+            Mono<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, shared);
+            if (existing != null) {
+                coalescedRequests.increment();
+                return existing;
+            }
+            upstreamRequests.increment();
+            return shared;
+        });
+    }
+
+    private double coalescingRatio() {
+        double coalesced = coalescedRequests.count();
+        double total = coalesced + upstreamRequests.count();
+        return total == 0 ? 0 : coalesced / total;
+    }
+
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.ratelimit.RouteFamily;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class RequestHedger {
+
+    private static final String HEDGES_METRIC = "gateway.hedging.hedges";
+    private static final long TOKEN = 1000;
+
+    private final Map<RouteFamily, Timer> latencies = new EnumMap<>(RouteFamily.class);
+    private final AtomicLong budget = new AtomicLong();
+    private final boolean enabled;
+    private final Set<RouteFamily> families;
+    private final Duration minDelay;
+    private final long budgetPerRequest;
+    private final long maxBudget;
+    private final Counter launchedHedges;
+    private final Counter throttledHedges;
+    private final Counter wonHedges;
+
+    public RequestHedger(@Value("${shareit-server.hedging.enabled:false}") boolean enabled,
+                         @Value("${shareit-server.hedging.families:SEARCH,BOOKINGS}") Set<RouteFamily> families,
+                         @Value("${shareit-server.hedging.percentile:0.95}") double percentile,
+                         @Value("${shareit-server.hedging.min-delay:50ms}") Duration minDelay,
+                         @Value("${shareit-server.hedging.budget-ratio:0.1}") double budgetRatio,
+                         @Value("${shareit-server.hedging.max-burst:10}") int maxBurst,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.families = families;
+        this.minDelay = minDelay;
+        this.budgetPerRequest = Math.round(budgetRatio * TOKEN);
+        this.maxBudget = maxBurst * TOKEN;
+        for (RouteFamily family : RouteFamily.values()) {
+            latencies.put(family, Timer.builder("gateway.hedging.latency")
+                    .tag("family", family.name().toLowerCase())
+                    .description("Latency of single server attempts used to pick the hedging delay")
+                    .publishPercentiles(percentile)
+                    .register(meterRegistry));
+        }
+        this.launchedHedges = Counter.builder(HEDGES_METRIC)
+                .tag("result", "launched")
+                .description("Second attempts sent to another server instance")
+                .register(meterRegistry);
+        this.throttledHedges = Counter.builder(HEDGES_METRIC)
+                .tag("result", "throttled")
+                .description("Second attempts skipped because the hedging budget was exhausted")
+                .register(meterRegistry);
+        this.wonHedges = Counter.builder(HEDGES_METRIC)
+                .tag("result", "won")
+                .description("Second attempts that answered before the first one")
+                .register(meterRegistry);
+    }
+
+    public boolean isHedged(RouteFamily family) {
+        return enabled && families.contains(family);
+    }
+
+    public Duration delay(RouteFamily family) {
+        budget.getAndUpdate(tokens -> Math.min(maxBudget, tokens + budgetPerRequest));
+        ValueAtPercentile[] percentiles = latencies.get(family).takeSnapshot().percentileValues();
+        long delayNanos = percentiles.length > 0 ? (long) percentiles[0].value(TimeUnit.NANOSECONDS) : 0;
+        return Duration.ofNanos(Math.max(delayNanos, minDelay.toNanos()));
+    }
+
+    public boolean tryHedge() {
+        long tokens;
+        do {
+            tokens = budget.get();
+            if (tokens < TOKEN) {
+                throttledHedges.increment();
+                return false;
+            }
+        } while (!budget.compareAndSet(tokens, tokens - TOKEN));
+        launchedHedges.increment();
+        return true;
+    }
+
+    public void recordWin() {
+        wonHedges.increment();
+    }
+
+    public <T> Mono<T> race(Mono<T> primary, Mono<T> hedge) {
+        return Mono.defer(() -> {
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            return Mono.firstWithValue(
+                            primary.onErrorResume(e -> {
+                                primaryError.set(e);
+                                return Mono.empty();
+                            }),
+                            hedge.onErrorResume(e -> Mono.empty()))
+                    .onErrorMap(e -> primaryError.get() != null ? primaryError.get() : e);
+        });
+    }
+
+    public <T> Mono<T> timed(RouteFamily family, Mono<T> attempt) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return attempt.doOnNext(response -> latencies.get(family)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class ServerBalancer {
+
+    private static final String HEALTH_PATH = "/actuator/health";
+
+    private final List<ServerEndpoint> endpoints;
+    private final RestTemplate healthCheckClient;
+    private final int ejectAfter;
+
+    public ServerBalancer(@Value("${shareit-server.url}") String serverUrls,
+                          @Value("${shareit-server.health-check.timeout:1s}") Duration healthCheckTimeout,
+                          @Value("${shareit-server.health-check.eject-after:2}") int ejectAfter,
+                          RestTemplateBuilder restTemplateBuilder,
+                          MeterRegistry meterRegistry) {
+        this.endpoints = Arrays.stream(serverUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(ServerEndpoint::new)
+                .collect(Collectors.toUnmodifiableList());
+        this.healthCheckClient = restTemplateBuilder
+                .setConnectTimeout(healthCheckTimeout)
+                .setReadTimeout(healthCheckTimeout)
+                .build();
+        this.ejectAfter = ejectAfter;
+        for (ServerEndpoint endpoint : endpoints) {
+            Gauge.builder("gateway.server.outstanding", endpoint, ServerEndpoint::getOutstanding)
+                    .tag("server", endpoint.getUrl())
+                    .register(meterRegistry);
+            Gauge.builder("gateway.server.healthy", endpoint, server -> server.isHealthy() ? 1 : 0)
+                    .tag("server", endpoint.getUrl())
+                    .register(meterRegistry);
+        }
+    }
+
+    public ServerEndpoint choose() {
+        return choose(null);
+    }
+
+    public ServerEndpoint choose(@Nullable ServerEndpoint excluded) {
+        List<ServerEndpoint> candidates = new ArrayList<>(endpoints.size());
+        for (ServerEndpoint endpoint : endpoints) {
+            if (endpoint.isHealthy() && endpoint != excluded) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates.addAll(endpoints);
+            if (candidates.size() > 1) {
+                candidates.remove(excluded);
+            }
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerEndpoint firstEndpoint = candidates.get(first);
+        ServerEndpoint secondEndpoint = candidates.get(second);
+        return firstEndpoint.getOutstanding() <= secondEndpoint.getOutstanding() ? firstEndpoint : secondEndpoint;
+    }
+
+    public void recordSuccess(ServerEndpoint endpoint) {
+        if (!endpoint.isHealthy()) {
+            log.info("Сервер {} снова доступен", endpoint);
+        }
+        endpoint.recordSuccess();
+    }
+
+    public void recordFailure(ServerEndpoint endpoint) {
+        if (endpoint.recordFailure(ejectAfter)) {
+            log.warn("Сервер {} исключен из балансировки", endpoint);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit-server.health-check.interval-ms:5000}")
+    public void checkHealth() {
+        for (ServerEndpoint endpoint : endpoints) {
+            try {
+                healthCheckClient.getForEntity(endpoint.getUrl() + HEALTH_PATH, String.class);
+                recordSuccess(endpoint);
+            } catch (RestClientException e) {
+                recordFailure(endpoint);
+            }
+        }
+    }
+
+}
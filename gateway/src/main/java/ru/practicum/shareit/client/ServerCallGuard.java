@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+import ru.practicum.shareit.ratelimit.RouteFamily;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@Slf4j
+public class ServerCallGuard {
+
+    private final Map<RouteFamily, CircuitBreaker> circuitBreakers = new EnumMap<>(RouteFamily.class);
+    private final Map<RouteFamily, Bulkhead> bulkheads = new EnumMap<>(RouteFamily.class);
+
+    public ServerCallGuard(@Value("${shareit-gateway.circuit-breaker.failure-rate-threshold:50}") float failureRate,
+                           @Value("${shareit-gateway.circuit-breaker.slow-call-duration:5s}") Duration slowCall,
+                           @Value("${shareit-gateway.circuit-breaker.sliding-window-size:20}") int windowSize,
+                           @Value("${shareit-gateway.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                           @Value("${shareit-gateway.circuit-breaker.open-duration:10s}") Duration openDuration,
+                           @Value("${shareit-gateway.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+                           @Value("${shareit-gateway.bulkhead.search.max-concurrent:20}") int searchConcurrency,
+                           @Value("${shareit-gateway.bulkhead.bookings.max-concurrent:40}") int bookingsConcurrency,
+                           @Value("${shareit-gateway.bulkhead.writes.max-concurrent:40}") int writesConcurrency,
+                           @Value("${shareit-gateway.bulkhead.reads.max-concurrent:60}") int readsConcurrency,
+                           MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRate)
+                .slowCallRateThreshold(failureRate)
+                .slowCallDurationThreshold(slowCall)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        Map<RouteFamily, Integer> concurrency = Map.of(
+                RouteFamily.SEARCH, searchConcurrency,
+                RouteFamily.BOOKINGS, bookingsConcurrency,
+                RouteFamily.WRITES, writesConcurrency,
+                RouteFamily.READS, readsConcurrency
+        );
+        for (RouteFamily family : RouteFamily.values()) {
+            String name = family.name().toLowerCase();
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                    log.warn("Состояние circuit breaker {} изменилось: {}", name, event.getStateTransition()));
+            circuitBreakers.put(family, circuitBreaker);
+            bulkheads.put(family, bulkheadRegistry.bulkhead(name, BulkheadConfig.custom()
+                    .maxConcurrentCalls(concurrency.get(family))
+                    .maxWaitDuration(Duration.ZERO)
+                    .build()));
+        }
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    public Mono<ResponseEntity<Object>> protect(RouteFamily family, Mono<ResponseEntity<Object>> call) {
+        return call
+                .flatMap(response -> response.getStatusCode().is5xxServerError()
+                        ? Mono.error(new ServerErrorResponse(response))
+                        : Mono.just(response))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakers.get(family)))
+                .transformDeferred(BulkheadOperator.of(bulkheads.get(family)))
+                .onErrorResume(ServerErrorResponse.class, e -> Mono.just(e.getResponse()))
+                .onErrorMap(CallNotPermittedException.class, e -> new ServerUnavailableException(
+                        String.format("Сервер временно недоступен для запросов %s", family)))
+                .onErrorMap(BulkheadFullException.class, e -> new ServerUnavailableException(
+                        String.format("Превышено число одновременных запросов %s к серверу", family)))
+                .onErrorMap(ServerCallGuard::isTransportError, e -> {
+                    log.warn("Сервер недоступен для запросов {}: {}", family, e.toString());
+                    return new ServerUnavailableException(
+                            String.format("Сервер недоступен для запросов %s", family), e);
+                });
+    }
+
+    private static boolean isTransportError(Throwable e) {
+        return e instanceof ResourceAccessException
+                || e instanceof WebClientRequestException
+                || e instanceof TimeoutException;
+    }
+
+    private static class ServerErrorResponse extends RuntimeException {
+        private final ResponseEntity<Object> response;
+
+        private ServerErrorResponse(ResponseEntity<Object> response) {
+            super(null, null, false, false);
+            this.response = response;
+        }
+
+        private ResponseEntity<Object> getResponse() {
+            return response;
+        }
+    }
+
+}
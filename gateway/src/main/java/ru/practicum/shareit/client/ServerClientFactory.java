@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+@Component
+@RequiredArgsConstructor
+public class ServerClientFactory {
+
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final ClientHttpRequestFactory requestFactory;
+    private final WebClient.Builder webClientBuilder;
+    private final ClientHttpConnector connector;
+    @Getter
+    private final GatewayResponseCache responseCache;
+    @Getter
+    private final RequestCoalescer requestCoalescer;
+    @Getter
+    private final ServerCallGuard serverCallGuard;
+    @Getter
+    private final ServerBalancer serverBalancer;
+    @Getter
+    private final RequestHedger requestHedger;
+    @Getter
+    private final ReadYourWritesTracker readYourWritesTracker;
+    @Getter
+    @Value("${shareit-server.client-mode:BLOCKING}")
+    private ClientMode mode = ClientMode.BLOCKING;
+    @Getter
+    @Value("${shareit-server.wire-format:JSON}")
+    private WireFormat wireFormat = WireFormat.JSON;
+    @Value("${shareit-server.http.max-in-memory-size:16MB}")
+    private DataSize maxInMemorySize = DataSize.ofMegabytes(16);
+
+    public RestTemplate restTemplate() {
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory())
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    public WebClient webClient() {
+        return webClientBuilder.clone()
+                .uriBuilderFactory(new DefaultUriBuilderFactory())
+                .clientConnector(connector)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
+                .build();
+    }
+
+}
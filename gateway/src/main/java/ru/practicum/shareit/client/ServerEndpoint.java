@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServerEndpoint {
+
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean healthy = true;
+
+    public ServerEndpoint(String url) {
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    void start() {
+        outstanding.incrementAndGet();
+    }
+
+    void finish() {
+        outstanding.decrementAndGet();
+    }
+
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+        healthy = true;
+    }
+
+    boolean recordFailure(int ejectAfter) {
+        if (consecutiveFailures.incrementAndGet() >= ejectAfter && healthy) {
+            healthy = false;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON, new JsonFactory()),
+    SMILE(new MediaType("application", "x-jackson-smile"), new SmileFactory()),
+    CBOR(MediaType.APPLICATION_CBOR, new CBORFactory());
+
+    private final MediaType mediaType;
+    private final JsonFactory factory;
+
+    WireFormat(MediaType mediaType, JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    public static WireFormat of(@Nullable MediaType contentType) {
+        if (contentType != null) {
+            for (WireFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(contentType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    public byte[] toJson(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 2);
+        try (JsonParser parser = factory.createParser(body);
+             JsonGenerator generator = JSON.factory.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
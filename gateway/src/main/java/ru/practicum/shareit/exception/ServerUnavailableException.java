@@ -0,0 +1,13 @@
+package ru.practicum.shareit.exception;
+
+public class ServerUnavailableException extends RuntimeException {
+
+    public ServerUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+import ru.practicum.shareit.item.dto.Create;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.groups.Default;
+import java.io.*;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBulkImporter {
+
+    private final ItemClient itemClient;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    @Value("${shareit-gateway.bulk.chunk-size:500}")
+    private int chunkSize = 500;
+
+    public void importItems(Long userId, InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        List<ItemImportResult> results = new ArrayList<>();
+        List<ItemImportResult> chunkResults = new ArrayList<>(chunkSize);
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ItemImportResult result = new ItemImportResult();
+            result.setLine(lineNumber);
+            results.add(result);
+            String error = validate(line);
+            if (error != null) {
+                fail(result, HttpStatus.BAD_REQUEST, error);
+            } else {
+                chunk.write(line.getBytes(StandardCharsets.UTF_8));
+                chunk.write('\n');
+                chunkResults.add(result);
+            }
+            if (results.size() == chunkSize) {
+                sendChunk(userId, chunk, chunkResults);
+                writeResults(writer, results);
+            }
+        }
+        sendChunk(userId, chunk, chunkResults);
+        writeResults(writer, results);
+        log.info("Обработано {} строк загрузки вещей пользователя с id={}", lineNumber, userId);
+    }
+
+    private String validate(String line) {
+        ItemDto item;
+        try {
+            item = objectMapper.readValue(line, ItemDto.class);
+        } catch (JsonProcessingException e) {
+            return "Некорректный JSON: " + e.getOriginalMessage();
+        }
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(item, Create.class, Default.class);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void sendChunk(Long userId, ByteArrayOutputStream chunk, List<ItemImportResult> chunkResults)
+            throws IOException {
+        if (chunkResults.isEmpty()) {
+            return;
+        }
+        try {
+            ResponseEntity<Object> response = itemClient.importItems(userId, chunk.toByteArray()).block();
+            if (response != null && response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                mergeResults((byte[]) response.getBody(), chunkResults);
+            } else {
+                HttpStatus status = response != null ? response.getStatusCode() : HttpStatus.BAD_GATEWAY;
+                chunkResults.forEach(result -> fail(result, status, "Сервер не принял пакет вещей"));
+            }
+        } catch (RuntimeException e) {
+            if (isNotSent(e)) {
+                log.warn("Пакет из {} вещей не передан на сервер: {}", chunkResults.size(), e.getMessage());
+                chunkResults.forEach(result -> fail(result, HttpStatus.SERVICE_UNAVAILABLE,
+                        "Сервер недоступен, вещь не сохранена"));
+            } else {
+                log.warn("Результат пакета из {} вещей неизвестен: {}", chunkResults.size(), e.toString());
+                chunkResults.forEach(result -> fail(result, HttpStatus.GATEWAY_TIMEOUT,
+                        "Сервер не ответил, вещь могла быть сохранена: "
+                                + "проверьте список вещей перед повторной загрузкой"));
+            }
+        }
+        chunk.reset();
+        chunkResults.clear();
+    }
+
+    private void mergeResults(byte[] body, List<ItemImportResult> chunkResults) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            ItemImportResult serverResult = objectMapper.readValue(line, ItemImportResult.class);
+            ItemImportResult result = chunkResults.get(serverResult.getLine().intValue() - 1);
+            result.setStatus(serverResult.getStatus());
+            result.setId(serverResult.getId());
+            result.setError(serverResult.getError());
+        }
+    }
+
+    private void writeResults(Writer writer, List<ItemImportResult> results) throws IOException {
+        for (ItemImportResult result : results) {
+            writer.write(objectMapper.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+        results.clear();
+    }
+
+    private static boolean isNotSent(RuntimeException e) {
+        if (e instanceof ServerUnavailableException && e.getCause() == null) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException
+                    || cause instanceof ConnectTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void fail(ItemImportResult result, HttpStatus status, String error) {
+        result.setStatus(status.value());
+        result.setError(error);
+    }
+
+}
@@ -1,17 +1,21 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
+import ru.practicum.shareit.export.ExportFormat;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ItemClient extends BaseClient {
@@ -19,20 +23,27 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX, Set.of(API_PREFIX, "/requests"));
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemDto requestDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getAllByOwner(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> createAll(Long userId, List<ItemDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> importItems(Long userId, byte[] ndjson) {
+        return post("/bulk", userId, MediaType.APPLICATION_NDJSON, ndjson);
+    }
+
+    public void exportItems(Long userId, ExportFormat format, HttpServletResponse response) throws IOException {
+        download("/export?format={format}", userId, Map.of("format", format), format.getMediaType(), response);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByOwner(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -40,28 +51,28 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long id) {
-        return get("/" + id, userId);
+    public Mono<ResponseEntity<Object>> getById(Long userId, Long id) {
+        return getRevalidated("/" + id, userId);
     }
 
-    public ResponseEntity<Object> update(Long userId, Long id, ItemDto requestDto) {
+    public Mono<ResponseEntity<Object>> update(Long userId, Long id, ItemDto requestDto) {
         return patch("/" + id, userId, requestDto);
     }
 
-    public ResponseEntity<Object> delete(Long id) {
+    public Mono<ResponseEntity<Object>> delete(Long id) {
         return delete("/" + id);
     }
 
-    public ResponseEntity<Object> searchByText(Long userId, String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> searchByText(Long userId, String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return getCached("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(Long userId, Long itemId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(Long userId, Long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 
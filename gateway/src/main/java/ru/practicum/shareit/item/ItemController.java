@@ -2,17 +2,28 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.export.ExportFormat;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.Create;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.Update;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import java.io.IOException;
+import java.util.List;
 
 import static ru.practicum.shareit.booking.BookingController.HEADER;
 
@@ -23,59 +34,89 @@ import static ru.practicum.shareit.booking.BookingController.HEADER;
 @Slf4j
 public class ItemController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final ItemClient itemClient;
+    private final ItemBulkImporter itemBulkImporter;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(HEADER) Long userId,
-                                         @Validated(Create.class) @RequestBody ItemDto requestDto) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(HEADER) Long userId,
+                                               @Validated(Create.class) @RequestBody ItemDto requestDto) {
         log.info("Поступил запрос на создание вещи {} от пользователя с id={}", requestDto, userId);
         return itemClient.create(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    @Validated({Create.class, Default.class})
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader(HEADER) Long userId,
+                                                  @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                  List<@Valid ItemDto> requestDtos) {
+        log.info("Поступил запрос на создание {} вещей от пользователя с id={}", requestDtos.size(), userId);
+        return itemClient.createAll(userId, requestDtos);
+    }
+
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importItems(@RequestHeader(HEADER) Long userId,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        log.info("Поступил запрос на потоковую загрузку вещей от пользователя с id={}", userId);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        itemBulkImporter.importItems(userId, request.getInputStream(), response.getOutputStream());
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getAllByOwner(@RequestHeader(HEADER) Long userId,
-                                                @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                @RequestParam(defaultValue = "20") @Positive Integer size) {
+    public Mono<ResponseEntity<Object>> getAllByOwner(@RequestHeader(HEADER) Long userId,
+                                                      @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                      @RequestParam(defaultValue = "20") @Positive Integer size) {
         log.info("Поступил запрос на получение всех вещей от пользователя с id={}, from={}, size={}",
                 userId, from, size);
         return itemClient.getAllByOwner(userId, from, size);
     }
 
+    @GetMapping("/export")
+    public void exportItems(@RequestHeader(HEADER) Long userId,
+                            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                            HttpServletResponse response) throws IOException {
+        log.info("Поступил запрос на выгрузку вещей с бронированиями от пользователя с id={}, format={}",
+                userId, format);
+        itemClient.exportItems(userId, format, response);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getById(@RequestHeader(HEADER) Long userId,
-                                          @PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader(HEADER) Long userId,
+                                                @PathVariable Long id) {
         log.info("Поступил запрос на получение вещи с id={} от пользователя с id={}", id, userId);
         return itemClient.getById(userId, id);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(@RequestHeader(HEADER) Long userId,
-                                         @PathVariable Long id,
-                                         @Validated(Update.class) @RequestBody ItemDto requestDto) {
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(HEADER) Long userId,
+                                               @PathVariable Long id,
+                                               @Validated(Update.class) @RequestBody ItemDto requestDto) {
         log.info("Поступил запрос на обновление вещи с id={} от пользователя с id={} на {}", id, userId, requestDto);
         return itemClient.update(userId, id, requestDto);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> delete(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable Long id) {
         log.info("Поступил запрос на удаление вещи с id={}", id);
         return itemClient.delete(id);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchByText(@RequestHeader(HEADER) Long userId,
-                                               @RequestParam String text,
-                                               @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                               @RequestParam(defaultValue = "20") @Positive Integer size) {
+    public Mono<ResponseEntity<Object>> searchByText(@RequestHeader(HEADER) Long userId,
+                                                     @RequestParam String text,
+                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                     @RequestParam(defaultValue = "20") @Positive Integer size) {
         log.info("Поступил запрос на поиск всех вещей по тексту от пользователя с id={}, text={}, from={}, size={}",
                 userId, text, from, size);
         return itemClient.searchByText(userId, text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader(HEADER) Long userId,
-                                             @PathVariable Long itemId,
-                                             @Validated(Create.class) @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader(HEADER) Long userId,
+                                                   @PathVariable Long itemId,
+                                                   @Validated(Create.class) @RequestBody CommentDto commentDto) {
         log.info("Поступил запрос на добавление комментария {} от пользователя с id={} к вещи с id={}",
                 commentDto, userId, itemId);
         return itemClient.addComment(userId, itemId, commentDto);
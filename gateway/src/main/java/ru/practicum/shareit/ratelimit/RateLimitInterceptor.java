@@ -0,0 +1,41 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.booking.BookingController.HEADER;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        String userId = request.getHeader(HEADER);
+        String clientKey = userId != null ? userId : request.getRemoteAddr();
+        RouteFamily family = RouteFamily.of(request.getMethod(), request.getRequestURI());
+        long waitNanos = rateLimiter.tryAcquire(clientKey, family);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            log.warn("Превышен лимит запросов {} для клиента {}", family, clientKey);
+            throw new TooManyRequestsException(String.format("Превышен лимит запросов, повторите через %d с",
+                    retryAfter), retryAfter);
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class RateLimiter {
+
+    private final Map<RouteFamily, Limit> limits = new EnumMap<>(RouteFamily.class);
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public RateLimiter(@Value("${shareit-gateway.rate-limit.enabled:false}") boolean enabled,
+                       @Value("${shareit-gateway.rate-limit.max-users:100000}") long maxUsers,
+                       @Value("${shareit-gateway.rate-limit.idle-expiry:10m}") Duration idleExpiry,
+                       @Value("${shareit-gateway.rate-limit.search.rate:5}") double searchRate,
+                       @Value("${shareit-gateway.rate-limit.search.burst:10}") int searchBurst,
+                       @Value("${shareit-gateway.rate-limit.bookings.rate:10}") double bookingsRate,
+                       @Value("${shareit-gateway.rate-limit.bookings.burst:20}") int bookingsBurst,
+                       @Value("${shareit-gateway.rate-limit.writes.rate:5}") double writesRate,
+                       @Value("${shareit-gateway.rate-limit.writes.burst:10}") int writesBurst,
+                       @Value("${shareit-gateway.rate-limit.reads.rate:20}") double readsRate,
+                       @Value("${shareit-gateway.rate-limit.reads.burst:40}") int readsBurst,
+                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+        limits.put(RouteFamily.SEARCH, new Limit(searchRate, searchBurst));
+        limits.put(RouteFamily.BOOKINGS, new Limit(bookingsRate, bookingsBurst));
+        limits.put(RouteFamily.WRITES, new Limit(writesRate, writesBurst));
+        limits.put(RouteFamily.READS, new Limit(readsRate, readsBurst));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    public long tryAcquire(String clientKey, RouteFamily family) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        Limit limit = limits.get(family);
+        TokenBucket bucket = buckets.get(family + ":" + clientKey,
+                key -> new TokenBucket(limit.permitsPerSecond, limit.burst, now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            meterRegistry.counter("gateway.rate-limit.rejected", "family", family.name().toLowerCase()).increment();
+        }
+        return waitNanos;
+    }
+
+    private static class Limit {
+        private final double permitsPerSecond;
+        private final int burst;
+
+        private Limit(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+public enum RouteFamily {
+    SEARCH,
+    BOOKINGS,
+    WRITES,
+    READS;
+
+    public static RouteFamily of(String method, String path) {
+        if (!HttpMethod.GET.matches(method)) {
+            return WRITES;
+        }
+        if (path.startsWith("/items/search")) {
+            return SEARCH;
+        }
+        if (path.startsWith("/bookings")) {
+            return BOOKINGS;
+        }
+        return READS;
+    }
+}
@@ -1,47 +1,42 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Set;
+
 @Service
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX, Set.of(API_PREFIX, "/items", "/requests"));
     }
 
-    public ResponseEntity<Object> create(UserDto requestDto) {
+    public Mono<ResponseEntity<Object>> create(UserDto requestDto) {
         return post("", requestDto);
     }
 
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> getById(Long id) {
-        return get("/" + id);
+    public Mono<ResponseEntity<Object>> getById(Long id) {
+        return getCached("/" + id);
     }
 
-    public ResponseEntity<Object> update(Long id, UserDto requestDto) {
+    public Mono<ResponseEntity<Object>> update(Long id, UserDto requestDto) {
         return patch("/" + id, requestDto);
     }
 
-    public ResponseEntity<Object> delete(Long id) {
+    public Mono<ResponseEntity<Object>> delete(Long id) {
         return delete("/" + id);
     }
 
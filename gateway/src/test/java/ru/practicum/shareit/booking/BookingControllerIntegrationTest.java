@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,7 +10,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.ratelimit.RateLimiter;
 
 import java.time.LocalDateTime;
 
@@ -25,12 +26,23 @@ class BookingControllerIntegrationTest {
     private ObjectMapper objectMapper;
 
     @MockBean
-    private BookingService bookingService;
+    private BookingClient bookingClient;
+
+    @MockBean
+    private RateLimiter rateLimiter;
 
     @Autowired
     private MockMvc mockMvc;
     private BookingDto bookingDto;
 
+    @BeforeEach
+    public void addBookings() {
+        bookingDto = new BookingDto();
+        bookingDto.setStart(LocalDateTime.now().plusDays(10L));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(20L));
+        bookingDto.setItemId(1L);
+    }
+
     @SneakyThrows
     @Test
     void createWhenBookingIsNotValidThenReturnedBadRequest() {
@@ -42,7 +54,7 @@ class BookingControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(bookingDto)))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingService, Mockito.never()).create(Mockito.anyLong(), Mockito.any(BookingDto.class));
+        verify(bookingClient, Mockito.never()).create(Mockito.anyLong(), Mockito.any(BookingDto.class));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.client.FakeShareItServer.respond;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BaseClientCacheIntegrationTest {
+
+    private static final FakeShareItServer server = startServer();
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @Autowired
+    private UserClient userClient;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", server::url);
+        registry.add("shareit-server.wire-format", () -> "JSON");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void resetServer() {
+        server.reset();
+    }
+
+    @Test
+    void getByIdWhenCachedThenRevalidatedWithEtag() {
+        server.setHandler(exchange -> {
+            if (exchange.getRequestHeaders().containsKey("If-None-Match")) {
+                respond(exchange, 304, new byte[0]);
+                return;
+            }
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            respond(exchange, 200, "{\"id\":1}");
+        });
+
+        ResponseEntity<Object> first = itemClient.getById(1L, 1L).block();
+        ResponseEntity<Object> second = itemClient.getById(1L, 1L).block();
+
+        assertEquals(2, server.getRequests().size());
+        assertEquals("\"v1\"", server.getRequests().get(1).getHeaders().getFirst("If-None-Match"));
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertArrayEquals((byte[]) first.getBody(), (byte[]) second.getBody());
+    }
+
+    @Test
+    void searchWhenFreshThenServedFromCache() {
+        itemClient.searchByText(1L, "text", 0, 20).block();
+        itemClient.searchByText(1L, "text", 0, 20).block();
+
+        assertEquals(1, server.getRequests().size());
+    }
+
+    @Test
+    void createItemThenItemViewsInvalidatedButUsersKept() {
+        userClient.getById(7L).block();
+        itemClient.searchByText(1L, "invalidate", 0, 20).block();
+        server.getRequests().clear();
+
+        itemClient.create(1L, new ItemDto()).block();
+        userClient.getById(7L).block();
+        itemClient.searchByText(1L, "invalidate", 0, 20).block();
+
+        assertEquals(2, server.getRequests().size());
+        assertEquals("POST", server.getRequests().get(0).getMethod());
+        assertEquals("/items/search", server.getRequests().get(1).getUri().getPath());
+    }
+
+    private static FakeShareItServer startServer() {
+        try {
+            return new FakeShareItServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
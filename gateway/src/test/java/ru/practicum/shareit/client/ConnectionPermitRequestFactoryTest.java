@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConnectionPermitRequestFactoryTest {
+
+    private static final FakeShareItServer first = startServer();
+    private static final FakeShareItServer second = startServer();
+
+    @AfterAll
+    static void stopServers() {
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void executeWhenRoutePermitsTakenThenTimesOutUntilResponseClosed() throws IOException {
+        ConnectionPermitRequestFactory factory = factory(10, 1);
+        URI uri = URI.create(first.url() + "/items");
+
+        ClientHttpResponse response = factory.createRequest(uri, HttpMethod.GET).execute();
+        assertThrows(ConnectionPoolTimeoutException.class, () -> factory.createRequest(uri, HttpMethod.GET).execute());
+        response.close();
+        response.close();
+
+        try (ClientHttpResponse next = factory.createRequest(uri, HttpMethod.GET).execute()) {
+            assertEquals(200, next.getRawStatusCode());
+        }
+    }
+
+    @Test
+    void executeWhenOtherRouteBusyThenNotBlocked() throws IOException {
+        ConnectionPermitRequestFactory factory = factory(10, 1);
+
+        try (ClientHttpResponse busy = factory.createRequest(URI.create(first.url()), HttpMethod.GET).execute();
+             ClientHttpResponse other = factory.createRequest(URI.create(second.url()), HttpMethod.GET).execute()) {
+            assertEquals(200, busy.getRawStatusCode());
+            assertEquals(200, other.getRawStatusCode());
+        }
+    }
+
+    @Test
+    void executeWhenTotalPermitsTakenThenTimesOut() throws IOException {
+        ConnectionPermitRequestFactory factory = factory(1, 10);
+
+        try (ClientHttpResponse busy = factory.createRequest(URI.create(first.url()), HttpMethod.GET).execute()) {
+            assertEquals(200, busy.getRawStatusCode());
+            assertThrows(ConnectionPoolTimeoutException.class,
+                    () -> factory.createRequest(URI.create(second.url()), HttpMethod.GET).execute());
+        }
+    }
+
+    private static ConnectionPermitRequestFactory factory(int maxTotal, int maxPerRoute) {
+        return new ConnectionPermitRequestFactory(new SimpleClientHttpRequestFactory(), maxTotal, maxPerRoute,
+                Duration.ofMillis(100));
+    }
+
+    private static FakeShareItServer startServer() {
+        try {
+            return new FakeShareItServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
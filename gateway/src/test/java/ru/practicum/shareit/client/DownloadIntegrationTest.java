@@ -0,0 +1,103 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.export.ExportFormat;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static ru.practicum.shareit.client.FakeShareItServer.respond;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class DownloadIntegrationTest {
+
+    private static final int LINES = 1000;
+    private static final FakeShareItServer server = startServer();
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @Autowired
+    private BookingClient bookingClient;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", server::url);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void resetServer() {
+        server.reset();
+    }
+
+    @Test
+    void exportItemsWhenServerStreamsThenBodyCopiedWithHeaders() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            expected.append("{\"id\":").append(i).append("}\n");
+        }
+        server.setHandler(exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+            exchange.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"items.ndjson\"");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < LINES; i++) {
+                    out.write(("{\"id\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            }
+        });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        itemClient.exportItems(1L, ExportFormat.NDJSON, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("application/x-ndjson", response.getContentType());
+        assertEquals("attachment; filename=\"items.ndjson\"", response.getHeader("Content-Disposition"));
+        assertNull(response.getHeader("Transfer-Encoding"));
+        assertEquals(expected.toString(), response.getContentAsString(StandardCharsets.UTF_8));
+        FakeShareItServer.Request request = server.getRequests().get(0);
+        assertEquals("/items/export", request.getUri().getPath());
+        assertEquals("format=NDJSON", request.getUri().getQuery());
+        assertEquals("1", request.getHeaders().getFirst("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void exportBookingsWhenServerAnswersNotFoundThenErrorPassedThrough() throws IOException {
+        server.setHandler(exchange -> respond(exchange, 404, "{\"error\":\"Пользователь с id 9 не найден\"}"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        bookingClient.exportBookings(9L, ExportFormat.CSV, response);
+
+        assertEquals(404, response.getStatus());
+        assertEquals("application/json", response.getContentType());
+        assertEquals("{\"error\":\"Пользователь с id 9 не найден\"}",
+                response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private static FakeShareItServer startServer() {
+        try {
+            return new FakeShareItServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
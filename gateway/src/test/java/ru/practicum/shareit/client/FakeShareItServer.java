@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class FakeShareItServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private volatile Handler handler = exchange -> respond(exchange, 200, "{}");
+
+    public FakeShareItServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                if (exchange.getRequestURI().getPath().equals("/actuator/health")) {
+                    respond(exchange, 200, "{\"status\":\"UP\"}");
+                    return;
+                }
+                requests.add(new Request(exchange.getRequestMethod(), exchange.getRequestURI(),
+                        exchange.getRequestHeaders(), new String(exchange.getRequestBody().readAllBytes(),
+                        StandardCharsets.UTF_8)));
+                handler.handle(exchange);
+            } catch (Exception e) {
+                exchange.sendResponseHeaders(599, -1);
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void setHandler(Handler handler) {
+        this.handler = handler;
+    }
+
+    public List<Request> getRequests() {
+        return requests;
+    }
+
+    public void reset() {
+        requests.clear();
+        handler = exchange -> respond(exchange, 200, "{}");
+    }
+
+    public static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        respond(exchange, status, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body.length == 0) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        void handle(HttpExchange exchange) throws Exception;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Request {
+        private final String method;
+        private final URI uri;
+        private final Headers headers;
+        private final String body;
+    }
+
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayResponseCacheTest {
+
+    private static final DataSize MAX_BYTES = DataSize.ofKilobytes(1);
+    private static final DataSize MAX_ENTRY_BYTES = DataSize.ofBytes(400);
+
+    private final ResponseEntity<Object> response = ResponseEntity.ok().eTag("\"v1\"").body(new byte[0]);
+
+    @Test
+    void putWhenStoredThenFreshWithEtag() {
+        GatewayResponseCache cache = cache(Duration.ofMinutes(1));
+
+        cache.put("/items/1", "/items", response, cache.currentGeneration("/items"));
+        GatewayResponseCache.Entry entry = cache.get("/items/1");
+
+        assertSame(response, entry.getResponse());
+        assertEquals("\"v1\"", entry.getEtag());
+        assertTrue(cache.isFresh(entry));
+    }
+
+    @Test
+    void isFreshWhenTtlElapsedThenFalse() {
+        GatewayResponseCache cache = cache(Duration.ZERO);
+
+        cache.put("/items/1", "/items", response, cache.currentGeneration("/items"));
+
+        assertFalse(cache.isFresh(cache.get("/items/1")));
+    }
+
+    @Test
+    void invalidateWhenResourceWrittenThenOnlyItsEntriesStale() {
+        GatewayResponseCache cache = cache(Duration.ofMinutes(1));
+        cache.put("/items/1", "/items", response, cache.currentGeneration("/items"));
+        cache.put("/users/1", "/users", response, cache.currentGeneration("/users"));
+
+        cache.invalidate(List.of("/items"));
+
+        assertFalse(cache.isFresh(cache.get("/items/1")));
+        assertTrue(cache.isFresh(cache.get("/users/1")));
+    }
+
+    @Test
+    void putWhenGenerationChangedDuringRequestThenStoredAsStale() {
+        GatewayResponseCache cache = cache(Duration.ofMinutes(1));
+        long generation = cache.currentGeneration("/items");
+
+        cache.invalidate(List.of("/items"));
+        cache.put("/items/1", "/items", response, generation);
+
+        assertFalse(cache.isFresh(cache.get("/items/1")));
+    }
+
+    @Test
+    void putWhenMaxBytesExceededThenEntriesEvicted() {
+        GatewayResponseCache cache = cache(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("/items/" + i, "/items", body(300), 0);
+        }
+
+        int retained = 0;
+        for (int i = 0; i < 10; i++) {
+            if (cache.get("/items/" + i) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained > 0 && retained <= 3, "retained " + retained);
+    }
+
+    @Test
+    void putWhenBodyAboveEntryCapThenNotCachedAndPreviousDropped() {
+        GatewayResponseCache cache = cache(Duration.ofMinutes(1));
+        cache.put("/items/1", "/items", body(100), 0);
+
+        cache.put("/items/1", "/items", body(500), 0);
+
+        assertNull(cache.get("/items/1"));
+    }
+
+    private static GatewayResponseCache cache(Duration ttl) {
+        return new GatewayResponseCache(true, MAX_BYTES, MAX_ENTRY_BYTES, ttl);
+    }
+
+    private static ResponseEntity<Object> body(int bytes) {
+        return ResponseEntity.ok().eTag("\"v1\"").body(new byte[bytes]);
+    }
+
+}
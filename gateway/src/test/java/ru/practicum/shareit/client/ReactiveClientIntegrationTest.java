@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.client.FakeShareItServer.respond;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReactiveClientIntegrationTest {
+
+    private static final int DEFAULT_CODEC_LIMIT = 256 * 1024;
+    private static final FakeShareItServer server = startServer();
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", server::url);
+        registry.add("shareit-server.client-mode", () -> "REACTIVE");
+        registry.add("shareit-server.cache.enabled", () -> "false");
+        registry.add("shareit-server.http.max-in-memory-size", () -> "1MB");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void resetServer() {
+        server.reset();
+    }
+
+    @Test
+    void getByIdWhenBodyAboveDefaultCodecLimitThenReturned() {
+        byte[] body = jsonOfSize(DEFAULT_CODEC_LIMIT * 2);
+        server.setHandler(exchange -> respond(exchange, 200, body));
+
+        ResponseEntity<Object> response = itemClient.getById(1L, 1L).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body, (byte[]) response.getBody());
+    }
+
+    @Test
+    void getByIdWhenBodyAboveConfiguredLimitThenFails() {
+        byte[] body = jsonOfSize(2 * 1024 * 1024);
+        server.setHandler(exchange -> respond(exchange, 200, body));
+
+        assertThrows(DataBufferLimitException.class, () -> itemClient.getById(1L, 2L).block());
+    }
+
+    private static byte[] jsonOfSize(int size) {
+        byte[] body = new byte[size];
+        Arrays.fill(body, (byte) 'a');
+        body[0] = '"';
+        body[size - 1] = '"';
+        return body;
+    }
+
+    private static FakeShareItServer startServer() {
+        try {
+            return new FakeShareItServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
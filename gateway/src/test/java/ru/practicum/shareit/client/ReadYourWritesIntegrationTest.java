@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.client.ReadYourWritesTracker.READ_YOUR_WRITES_HEADER;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReadYourWritesIntegrationTest {
+
+    private static final int READS = 20;
+    private static final FakeShareItServer first = startServer();
+    private static final FakeShareItServer second = startServer();
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> first.url() + "," + second.url());
+        registry.add("shareit-server.read-your-writes.window", () -> "1m");
+    }
+
+    @AfterAll
+    static void stopServers() {
+        first.close();
+        second.close();
+    }
+
+    @BeforeEach
+    public void resetServers() {
+        first.reset();
+        second.reset();
+    }
+
+    @Test
+    void getAfterWriteThenEveryInstanceAskedToReadFromPrimary() {
+        itemClient.create(1L, new ItemDto()).block();
+        for (int i = 0; i < READS; i++) {
+            itemClient.getAllByOwner(1L, i, 10).block();
+        }
+
+        List<FakeShareItServer.Request> reads = reads();
+        assertEquals(READS, reads.size());
+        assertFalse(first.getRequests().isEmpty());
+        assertFalse(second.getRequests().isEmpty());
+        assertTrue(reads.stream().allMatch(request -> request.getHeaders().containsKey(READ_YOUR_WRITES_HEADER)));
+    }
+
+    @Test
+    void getWhenOtherUserWroteThenReadFromReplica() {
+        itemClient.create(2L, new ItemDto()).block();
+        for (int i = 0; i < READS; i++) {
+            itemClient.getAllByOwner(3L, i, 10).block();
+        }
+
+        List<FakeShareItServer.Request> reads = reads();
+        assertEquals(READS, reads.size());
+        assertTrue(reads.stream().noneMatch(request -> request.getHeaders().containsKey(READ_YOUR_WRITES_HEADER)));
+    }
+
+    private static List<FakeShareItServer.Request> reads() {
+        List<FakeShareItServer.Request> reads = new ArrayList<>();
+        for (FakeShareItServer server : List.of(first, second)) {
+            server.getRequests().stream()
+                    .filter(request -> request.getMethod().equals("GET"))
+                    .forEach(reads::add);
+        }
+        return reads;
+    }
+
+    private static FakeShareItServer startServer() {
+        try {
+            return new FakeShareItServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
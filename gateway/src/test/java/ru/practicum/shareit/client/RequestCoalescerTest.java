@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void executeWhenSameKeyInFlightThenSingleUpstreamCall() {
+        RequestCoalescer coalescer = new RequestCoalescer(true, meterRegistry);
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+
+        Mono<ResponseEntity<Object>> first = coalescer.execute("GET /items/1", () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        Mono<ResponseEntity<Object>> second = coalescer.execute("GET /items/1", () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        Mono<ResponseEntity<Object>> firstResult = first.cache();
+        firstResult.subscribe();
+        Mono<ResponseEntity<Object>> secondResult = second.cache();
+        secondResult.subscribe();
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+        upstream.tryEmitValue(response);
+
+        assertSame(response, firstResult.block());
+        assertSame(response, secondResult.block());
+        assertEquals(1, calls.get());
+        assertEquals(1, meterRegistry.get("gateway.coalescing.requests").tag("result", "coalesced")
+                .counter().count());
+    }
+
+    @Test
+    void executeWhenDifferentKeysThenSeparateUpstreamCalls() {
+        RequestCoalescer coalescer = new RequestCoalescer(true, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        coalescer.execute("GET /items/1", () -> Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok("first");
+        })).block();
+        coalescer.execute("GET /items/2", () -> Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return ResponseEntity.ok("second");
+        })).block();
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void executeWhenPreviousCallCompletedThenCallsUpstreamAgain() {
+        RequestCoalescer coalescer = new RequestCoalescer(true, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            coalescer.execute("GET /items/1", () -> Mono.fromSupplier(() -> {
+                calls.incrementAndGet();
+                return ResponseEntity.ok("item");
+            })).block();
+        }
+
+        assertEquals(3, calls.get());
+        assertEquals(0, meterRegistry.get("gateway.coalescing.in-flight").gauge().value());
+    }
+
+    @Test
+    void executeWhenUpstreamFailsThenAllWaitersFailAndKeyReleased() {
+        RequestCoalescer coalescer = new RequestCoalescer(true, meterRegistry);
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+
+        Mono<ResponseEntity<Object>> first = coalescer.execute("GET /items/1", upstream::asMono).cache();
+        first.subscribe(response -> { }, error -> { });
+        Mono<ResponseEntity<Object>> second = coalescer.execute("GET /items/1", upstream::asMono).cache();
+        second.subscribe(response -> { }, error -> { });
+        upstream.tryEmitError(new IllegalStateException("upstream"));
+
+        assertThrows(IllegalStateException.class, first::block);
+        assertThrows(IllegalStateException.class, second::block);
+        ResponseEntity<Object> retried = coalescer.execute("GET /items/1",
+                () -> Mono.just(ResponseEntity.ok("item"))).block();
+        assertEquals("item", retried.getBody());
+    }
+
+    @Test
+    void executeWhenCalledFromCompletionCallbackThenDoesNotJoinFinishedCall() {
+        RequestCoalescer coalescer = new RequestCoalescer(true, meterRegistry);
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        AtomicReference<ResponseEntity<Object>> retried = new AtomicReference<>();
+
+        coalescer.execute("GET /items/1", upstream::asMono).subscribe(response -> { },
+                error -> retried.set(coalescer.execute("GET /items/1",
+                        () -> Mono.just(ResponseEntity.ok("item"))).block()));
+        upstream.tryEmitError(new IllegalStateException("upstream"));
+
+        assertEquals("item", retried.get().getBody());
+    }
+
+    @Test
+    void executeWhenDisabledThenEveryCallGoesUpstream() {
+        RequestCoalescer coalescer = new RequestCoalescer(false, meterRegistry);
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+
+        coalescer.execute("GET /items/1", () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        }).subscribe();
+        coalescer.execute("GET /items/1", () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        }).subscribe();
+
+        assertEquals(2, calls.get());
+    }
+
+}
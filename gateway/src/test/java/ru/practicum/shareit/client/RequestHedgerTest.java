@@ -0,0 +1,128 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.ratelimit.RouteFamily;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestHedgerTest {
+
+    private static final Duration MIN_DELAY = Duration.ofMillis(50);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static RequestHedger hedger(boolean enabled, double budgetRatio, int maxBurst) {
+        return new RequestHedger(enabled, Set.of(RouteFamily.SEARCH), 0.95, MIN_DELAY, budgetRatio, maxBurst,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isHedgedWhenFamilyConfiguredAndEnabledThenTrue() {
+        RequestHedger hedger = hedger(true, 0.1, 10);
+
+        assertTrue(hedger.isHedged(RouteFamily.SEARCH));
+        assertFalse(hedger.isHedged(RouteFamily.WRITES));
+        assertFalse(hedger(false, 0.1, 10).isHedged(RouteFamily.SEARCH));
+    }
+
+    @Test
+    void delayWhenNoLatenciesRecordedThenMinDelay() {
+        assertEquals(MIN_DELAY, hedger(true, 0.1, 10).delay(RouteFamily.SEARCH));
+    }
+
+    @Test
+    void tryHedgeWhenBudgetAccumulatedThenOneHedgePerTenRequests() {
+        RequestHedger hedger = hedger(true, 0.1, 10);
+
+        for (int i = 0; i < 9; i++) {
+            hedger.delay(RouteFamily.SEARCH);
+        }
+        assertFalse(hedger.tryHedge());
+        hedger.delay(RouteFamily.SEARCH);
+        assertTrue(hedger.tryHedge());
+        assertFalse(hedger.tryHedge());
+    }
+
+    @Test
+    void tryHedgeWhenIdleThenBudgetCappedAtBurst() {
+        RequestHedger hedger = hedger(true, 1, 2);
+
+        for (int i = 0; i < 10; i++) {
+            hedger.delay(RouteFamily.SEARCH);
+        }
+
+        assertTrue(hedger.tryHedge());
+        assertTrue(hedger.tryHedge());
+        assertFalse(hedger.tryHedge());
+    }
+
+    @Test
+    void raceWhenPrimaryAnswersFirstThenHedgeCancelled() {
+        AtomicBoolean hedgeCancelled = new AtomicBoolean();
+        Mono<String> hedge = Mono.delay(Duration.ofSeconds(1)).map(tick -> "hedge")
+                .doOnCancel(() -> hedgeCancelled.set(true));
+        Mono<String> primary = Mono.delay(MIN_DELAY).map(tick -> "primary");
+
+        assertEquals("primary", hedger(true, 0.1, 10).race(primary, hedge).block(TIMEOUT));
+        assertTrue(hedgeCancelled.get());
+    }
+
+    @Test
+    void raceWhenHedgeAnswersFirstThenHedgeWins() {
+        Mono<String> primary = Mono.delay(Duration.ofSeconds(1)).map(tick -> "primary");
+
+        assertEquals("hedge", hedger(true, 0.1, 10).race(primary, Mono.just("hedge")).block(TIMEOUT));
+    }
+
+    @Test
+    void raceWhenPrimaryFailsThenHedgeAnswer() {
+        Mono<String> primary = Mono.error(new IOException("connection reset"));
+        Mono<String> hedge = Mono.delay(MIN_DELAY).map(tick -> "hedge");
+
+        assertEquals("hedge", hedger(true, 0.1, 10).race(primary, hedge).block(TIMEOUT));
+    }
+
+    @Test
+    void raceWhenHedgeFailsThenPrimaryAnswer() {
+        Mono<String> primary = Mono.delay(MIN_DELAY).map(tick -> "primary");
+
+        assertEquals("primary", hedger(true, 0.1, 10)
+                .race(primary, Mono.error(new IOException("connection reset"))).block(TIMEOUT));
+    }
+
+    @Test
+    void raceWhenBothFailThenPrimaryError() {
+        IOException primaryError = new IOException("primary");
+        Mono<String> hedge = Mono.delay(MIN_DELAY).then(Mono.error(new IOException("hedge")));
+
+        IOException thrown = assertThrows(IOException.class, () -> {
+            try {
+                hedger(true, 0.1, 10).race(Mono.<String>error(primaryError), hedge).block(TIMEOUT);
+            } catch (RuntimeException e) {
+                throw e.getCause();
+            }
+        });
+        assertSame(primaryError, thrown);
+    }
+
+    @Test
+    void raceWhenPrimaryFailsAndHedgeNotLaunchedThenPrimaryError() {
+        IllegalStateException primaryError = new IllegalStateException("primary");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> hedger(true, 0.1, 10)
+                .race(Mono.<String>error(primaryError), Mono.delay(MIN_DELAY).then(Mono.empty()))
+                .block(TIMEOUT));
+        assertSame(primaryError, thrown);
+    }
+
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerBalancerTest {
+
+    private static final int ATTEMPTS = 200;
+
+    private static ServerBalancer balancer(String urls) {
+        return new ServerBalancer(urls, Duration.ofMillis(500), 2, new RestTemplateBuilder(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void chooseWhenSingleServerThenAlwaysReturned() {
+        ServerBalancer balancer = balancer("http://server-1");
+        ServerEndpoint endpoint = balancer.choose();
+
+        assertEquals("http://server-1", endpoint.getUrl());
+        assertSame(endpoint, balancer.choose(endpoint));
+    }
+
+    @Test
+    void chooseWhenServersIdleThenAllUsed() {
+        ServerBalancer balancer = balancer("http://server-1, http://server-2,http://server-3");
+        Set<String> chosen = new HashSet<>();
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            chosen.add(balancer.choose().getUrl());
+        }
+
+        assertEquals(Set.of("http://server-1", "http://server-2", "http://server-3"), chosen);
+    }
+
+    @Test
+    void chooseWhenOneServerBusierThenLessLoadedPreferred() {
+        ServerBalancer balancer = balancer("http://server-1,http://server-2");
+        ServerEndpoint busy = balancer.choose();
+        busy.start();
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            assertNotSame(busy, balancer.choose());
+        }
+        busy.finish();
+    }
+
+    @Test
+    void chooseWhenExcludedThenOtherServerReturned() {
+        ServerBalancer balancer = balancer("http://server-1,http://server-2");
+        ServerEndpoint primary = balancer.choose();
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            assertNotSame(primary, balancer.choose(primary));
+        }
+    }
+
+    @Test
+    void chooseWhenServerFailedRepeatedlyThenEjected() {
+        ServerBalancer balancer = balancer("http://server-1,http://server-2");
+        ServerEndpoint failing = balancer.choose();
+
+        balancer.recordFailure(failing);
+        assertTrue(failing.isHealthy());
+        balancer.recordFailure(failing);
+        assertFalse(failing.isHealthy());
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            assertNotSame(failing, balancer.choose());
+        }
+        balancer.recordSuccess(failing);
+        assertTrue(failing.isHealthy());
+    }
+
+    @Test
+    void chooseWhenAllServersEjectedThenFallsBackToAll() {
+        ServerBalancer balancer = balancer("http://server-1,http://server-2");
+        ServerEndpoint first = balancer.choose();
+        ServerEndpoint second = balancer.choose(first);
+        for (int i = 0; i < 2; i++) {
+            balancer.recordFailure(first);
+            balancer.recordFailure(second);
+        }
+
+        assertSame(second, balancer.choose(first));
+        assertSame(first, balancer.choose(second));
+    }
+
+    @Test
+    void checkHealthWhenServerDownThenEjectedAndHealthyKept() throws Exception {
+        try (FakeShareItServer server = new FakeShareItServer()) {
+            ServerBalancer balancer = balancer(server.url() + ",http://localhost:1");
+            ServerEndpoint live = balancer.choose();
+            ServerEndpoint dead = balancer.choose(live);
+            if (!live.getUrl().equals(server.url())) {
+                ServerEndpoint swap = live;
+                live = dead;
+                dead = swap;
+            }
+
+            balancer.checkHealth();
+            balancer.checkHealth();
+
+            assertTrue(live.isHealthy());
+            assertFalse(dead.isHealthy());
+            for (int i = 0; i < ATTEMPTS; i++) {
+                assertSame(live, balancer.choose());
+            }
+        }
+    }
+
+}
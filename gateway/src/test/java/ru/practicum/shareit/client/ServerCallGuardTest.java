@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+import ru.practicum.shareit.ratelimit.RouteFamily;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServerCallGuardTest {
+
+    private static final int MINIMUM_CALLS = 4;
+
+    private final ServerCallGuard guard = new ServerCallGuard(50, Duration.ofSeconds(5), MINIMUM_CALLS,
+            MINIMUM_CALLS, Duration.ofMinutes(1), 1, 1, 1, 1, 1, new SimpleMeterRegistry());
+
+    @Test
+    void protectWhenResponseOkThenReturned() {
+        ResponseEntity<Object> response = guard.protect(RouteFamily.READS, Mono.just(ResponseEntity.ok("item")))
+                .block();
+
+        assertEquals("item", response.getBody());
+    }
+
+    @Test
+    void protectWhenServerErrorResponseThenPassedThrough() {
+        ResponseEntity<Object> response = guard.protect(RouteFamily.READS,
+                Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("error"))).block();
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals("error", response.getBody());
+    }
+
+    @Test
+    void protectWhenConnectionRefusedThenServerUnavailable() {
+        Mono<ResponseEntity<Object>> call = Mono.error(
+                new ResourceAccessException("I/O error", new ConnectException("Connection refused")));
+
+        assertThrows(ServerUnavailableException.class, () -> guard.protect(RouteFamily.READS, call).block());
+    }
+
+    @Test
+    void protectWhenWebClientRequestFailsThenServerUnavailable() {
+        Mono<ResponseEntity<Object>> call = Mono.error(new WebClientRequestException(
+                new ConnectException("Connection refused"), HttpMethod.GET, URI.create("http://server/items"),
+                new HttpHeaders()));
+
+        assertThrows(ServerUnavailableException.class, () -> guard.protect(RouteFamily.READS, call).block());
+    }
+
+    @Test
+    void protectWhenTimeoutThenServerUnavailable() {
+        Mono<ResponseEntity<Object>> call = Mono.error(new TimeoutException("timeout"));
+
+        assertThrows(ServerUnavailableException.class, () -> guard.protect(RouteFamily.READS, call).block());
+    }
+
+    @Test
+    void protectWhenOtherErrorThenNotMapped() {
+        Mono<ResponseEntity<Object>> call = Mono.error(new IllegalStateException("bug"));
+
+        assertThrows(IllegalStateException.class, () -> guard.protect(RouteFamily.READS, call).block());
+    }
+
+    @Test
+    void protectWhenFailureRateExceededThenCircuitOpensForFamilyOnly() {
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            guard.protect(RouteFamily.SEARCH,
+                    Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build())).block();
+        }
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ServerUnavailableException.class, () -> guard.protect(RouteFamily.SEARCH,
+                Mono.fromSupplier(() -> {
+                    calls.incrementAndGet();
+                    return ResponseEntity.ok("found");
+                })).block());
+        assertEquals(0, calls.get());
+        assertEquals("item", guard.protect(RouteFamily.READS, Mono.just(ResponseEntity.ok("item")))
+                .block().getBody());
+    }
+
+    @Test
+    void protectWhenBulkheadFullThenServerUnavailable() {
+        Sinks.One<ResponseEntity<Object>> slow = Sinks.one();
+        guard.protect(RouteFamily.WRITES, slow.asMono()).subscribe();
+
+        assertThrows(ServerUnavailableException.class, () -> guard.protect(RouteFamily.WRITES,
+                Mono.just(ResponseEntity.ok("created"))).block());
+
+        slow.tryEmitValue(ResponseEntity.ok("done"));
+        assertEquals("created", guard.protect(RouteFamily.WRITES, Mono.just(ResponseEntity.ok("created")))
+                .block().getBody());
+    }
+
+}
@@ -0,0 +1,185 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.client.FakeShareItServer;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.client.FakeShareItServer.respond;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ItemBulkImporterIntegrationTest {
+
+    private static final int CHUNK_SIZE = 3;
+    private static final FakeShareItServer server = startServer();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Autowired
+    private ItemBulkImporter itemBulkImporter;
+
+    @DynamicPropertySource
+    static void serverProperties(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", server::url);
+        registry.add("shareit-server.http.read-timeout", () -> "1s");
+        registry.add("shareit-gateway.bulk.chunk-size", () -> CHUNK_SIZE);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void resetServer() {
+        server.reset();
+        ids.set(0);
+        server.setHandler(exchange -> {
+            List<String> lines = server.getRequests().get(server.getRequests().size() - 1).getBody()
+                    .lines().collect(Collectors.toList());
+            List<String> answers = new ArrayList<>();
+            for (int i = 0; i < lines.size(); i++) {
+                answers.add("{\"line\":" + (i + 1) + ",\"status\":201,\"id\":" + ids.incrementAndGet() + "}");
+            }
+            Collections.reverse(answers);
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+            respond(exchange, 200, String.join("\n", answers).getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @Test
+    void importItemsWhenInvalidAndBlankLinesMixedThenResultsInInputOrder() throws IOException {
+        String input = String.join("\n",
+                item("first"),
+                "",
+                "{",
+                item("second"),
+                "{\"description\":\"description\",\"available\":true}",
+                item("third"),
+                item("n".repeat(129)),
+                item("fourth"),
+                "   ",
+                item("fifth"));
+
+        List<ItemImportResult> results = importItems(input, new CountingOutputStream());
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L, 7L, 8L, 10L),
+                results.stream().map(ItemImportResult::getLine).collect(Collectors.toList()));
+        assertCreated(results.get(0), 1L);
+        assertEquals(400, results.get(1).getStatus());
+        assertTrue(results.get(1).getError().startsWith("Некорректный JSON"), results.get(1).getError());
+        assertCreated(results.get(2), 2L);
+        assertEquals(400, results.get(3).getStatus());
+        assertTrue(results.get(3).getError().startsWith("name: "), results.get(3).getError());
+        assertCreated(results.get(4), 3L);
+        assertEquals(400, results.get(5).getStatus());
+        assertTrue(results.get(5).getError().startsWith("name: "), results.get(5).getError());
+        assertCreated(results.get(6), 4L);
+        assertCreated(results.get(7), 5L);
+    }
+
+    @Test
+    void importItemsWhenChunkFullThenValidLinesSentInChunks() throws IOException {
+        String input = String.join("\n", item("first"), "{", item("second"), "{", item("third"), "{",
+                item("fourth"), item("fifth"));
+
+        importItems(input, new CountingOutputStream());
+
+        List<String> bodies = server.getRequests().stream()
+                .map(FakeShareItServer.Request::getBody)
+                .collect(Collectors.toList());
+        assertEquals(List.of(
+                item("first") + "\n" + item("second") + "\n",
+                item("third") + "\n",
+                item("fourth") + "\n" + item("fifth") + "\n"), bodies);
+        FakeShareItServer.Request request = server.getRequests().get(0);
+        assertEquals("POST", request.getMethod());
+        assertEquals("/items/bulk", request.getUri().getPath());
+        assertEquals("application/x-ndjson", request.getHeaders().getFirst("Content-Type"));
+        assertEquals("1", request.getHeaders().getFirst("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void importItemsWhenOnlyInvalidLinesThenResultsFlushedEveryChunk() throws IOException {
+        String input = String.join("\n", "{", "{", "{", "{", "{", "{", "{");
+        CountingOutputStream out = new CountingOutputStream();
+
+        List<ItemImportResult> results = importItems(input, out);
+
+        assertEquals(7, results.size());
+        assertEquals(3, out.flushes);
+        assertTrue(server.getRequests().isEmpty());
+    }
+
+    @Test
+    void importItemsWhenServerDoesNotAnswerInTimeThenOutcomeUnknown() throws IOException {
+        server.setHandler(exchange -> {
+            Thread.sleep(1500);
+            respond(exchange, 200, new byte[0]);
+        });
+
+        List<ItemImportResult> results = importItems(item("first"), new CountingOutputStream());
+
+        assertEquals(1, results.size());
+        assertEquals(504, results.get(0).getStatus());
+        assertNull(results.get(0).getId());
+        assertTrue(results.get(0).getError().startsWith("Сервер не ответил"), results.get(0).getError());
+    }
+
+    private List<ItemImportResult> importItems(String input, CountingOutputStream out) throws IOException {
+        itemBulkImporter.importItems(1L, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        List<ItemImportResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, ItemImportResult.class));
+        }
+        return results;
+    }
+
+    private static void assertCreated(ItemImportResult result, Long id) {
+        assertEquals(201, result.getStatus());
+        assertEquals(id, result.getId());
+        assertNull(result.getError());
+    }
+
+    private static String item(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"description\",\"available\":true}";
+    }
+
+    private static FakeShareItServer startServer() {
+        try {
+            return new FakeShareItServer();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CountingOutputStream extends ByteArrayOutputStream {
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+
+}
@@ -2,16 +2,16 @@ package ru.practicum.shareit.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
-import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.ratelimit.RateLimiter;
 
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -25,7 +25,13 @@ class ItemControllerIntegrationTest {
     private ObjectMapper objectMapper;
 
     @MockBean
-    private ItemService itemService;
+    private ItemClient itemClient;
+
+    @MockBean
+    private ItemBulkImporter itemBulkImporter;
+
+    @MockBean
+    private RateLimiter rateLimiter;
 
     @Autowired
     private MockMvc mockMvc;
@@ -33,6 +39,17 @@ class ItemControllerIntegrationTest {
     private ItemDto itemDto;
     private CommentDto commentDto;
 
+    @BeforeEach
+    public void addItems() {
+        itemDto = new ItemDto();
+        itemDto.setName("name");
+        itemDto.setDescription("description");
+        itemDto.setAvailable(true);
+
+        commentDto = new CommentDto();
+        commentDto.setText("text");
+    }
+
     @SneakyThrows
     @Test
     void createWhenItemIsNotValidThenReturnedBadRequest() {
@@ -44,7 +61,7 @@ class ItemControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(itemDto)))
                 .andExpect(status().isBadRequest());
 
-        verify(itemService, Mockito.never()).create(Mockito.anyLong(), Mockito.any(ItemDto.class));
+        verify(itemClient, Mockito.never()).create(Mockito.anyLong(), Mockito.any(ItemDto.class));
     }
 
     @SneakyThrows
@@ -59,7 +76,7 @@ class ItemControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(commentDto)))
                 .andExpect(status().isBadRequest());
 
-        verify(itemService, Mockito.never()).addComment(Mockito.anyLong(), Mockito.anyLong(),
+        verify(itemClient, Mockito.never()).addComment(Mockito.anyLong(), Mockito.anyLong(),
                 Mockito.any(CommentDto.class));
     }
 
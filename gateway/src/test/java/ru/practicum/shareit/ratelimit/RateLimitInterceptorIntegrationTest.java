@@ -0,0 +1,69 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemBulkImporter;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ru.practicum.shareit.booking.BookingController.HEADER;
+
+@WebMvcTest(controllers = ItemController.class)
+class RateLimitInterceptorIntegrationTest {
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @MockBean
+    private ItemBulkImporter itemBulkImporter;
+
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SneakyThrows
+    @Test
+    void getWhenLimitExceededThenTooManyRequestsWithRetryAfter() {
+        Mockito.when(rateLimiter.tryAcquire("1", RouteFamily.SEARCH))
+                .thenReturn(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        mockMvc.perform(get("/items/search")
+                        .header(HEADER, 1L)
+                        .param("text", "text"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error", containsString("2")));
+
+        verify(itemClient, Mockito.never()).searchByText(Mockito.anyLong(), Mockito.anyString(), Mockito.anyInt(),
+                Mockito.anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void getWithoutUserHeaderThenLimitedByRemoteAddress() {
+        Mockito.when(rateLimiter.tryAcquire("10.0.0.1", RouteFamily.READS))
+                .thenReturn(TimeUnit.MILLISECONDS.toNanos(200));
+
+        mockMvc.perform(get("/items/1")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.1");
+                            return request;
+                        }))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+}
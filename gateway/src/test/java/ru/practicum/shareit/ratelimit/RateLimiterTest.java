@@ -0,0 +1,48 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tryAcquireWhenBurstExceededThenRejectedAndCounted() {
+        RateLimiter rateLimiter = rateLimiter(true);
+
+        assertEquals(0, rateLimiter.tryAcquire("1", RouteFamily.WRITES));
+        assertEquals(0, rateLimiter.tryAcquire("1", RouteFamily.WRITES));
+        assertTrue(rateLimiter.tryAcquire("1", RouteFamily.WRITES) > 0);
+        assertEquals(1, meterRegistry.counter("gateway.rate-limit.rejected", "family", "writes").count());
+    }
+
+    @Test
+    void tryAcquireWhenOtherClientOrFamilyThenSeparateBuckets() {
+        RateLimiter rateLimiter = rateLimiter(true);
+        rateLimiter.tryAcquire("1", RouteFamily.WRITES);
+        rateLimiter.tryAcquire("1", RouteFamily.WRITES);
+
+        assertEquals(0, rateLimiter.tryAcquire("2", RouteFamily.WRITES));
+        assertEquals(0, rateLimiter.tryAcquire("1", RouteFamily.READS));
+    }
+
+    @Test
+    void tryAcquireWhenDisabledThenAlwaysPermitted() {
+        RateLimiter rateLimiter = rateLimiter(false);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("1", RouteFamily.WRITES));
+        }
+    }
+
+    private RateLimiter rateLimiter(boolean enabled) {
+        return new RateLimiter(enabled, 100, Duration.ofMinutes(10), 1, 2, 1, 2, 1, 2, 1, 2, meterRegistry);
+    }
+
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RouteFamilyTest {
+
+    @Test
+    void ofWhenNotGetThenWrites() {
+        assertEquals(RouteFamily.WRITES, RouteFamily.of("POST", "/items/search"));
+        assertEquals(RouteFamily.WRITES, RouteFamily.of("PATCH", "/bookings/1"));
+        assertEquals(RouteFamily.WRITES, RouteFamily.of("DELETE", "/users/1"));
+    }
+
+    @Test
+    void ofWhenGetSearchThenSearch() {
+        assertEquals(RouteFamily.SEARCH, RouteFamily.of("GET", "/items/search"));
+    }
+
+    @Test
+    void ofWhenGetBookingsThenBookings() {
+        assertEquals(RouteFamily.BOOKINGS, RouteFamily.of("GET", "/bookings"));
+        assertEquals(RouteFamily.BOOKINGS, RouteFamily.of("GET", "/bookings/owner"));
+    }
+
+    @Test
+    void ofWhenOtherGetThenReads() {
+        assertEquals(RouteFamily.READS, RouteFamily.of("GET", "/items/1"));
+        assertEquals(RouteFamily.READS, RouteFamily.of("GET", "/requests/all"));
+        assertEquals(RouteFamily.READS, RouteFamily.of("GET", "/users"));
+    }
+
+}
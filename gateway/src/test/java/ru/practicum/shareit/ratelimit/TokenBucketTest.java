@@ -0,0 +1,56 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquireWhenBurstAvailableThenAllPermitted() {
+        TokenBucket bucket = new TokenBucket(5, 10, 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        assertTrue(bucket.tryAcquire(0) > 0);
+    }
+
+    @Test
+    void tryAcquireWhenBurstExhaustedThenWaitUntilNextPermit() {
+        TokenBucket bucket = new TokenBucket(5, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertEquals(SECOND / 5, bucket.tryAcquire(0));
+        assertEquals(SECOND / 10, bucket.tryAcquire(SECOND / 10));
+    }
+
+    @Test
+    void tryAcquireWhenTimePassesThenRefilledAtRate() {
+        TokenBucket bucket = new TokenBucket(5, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        long later = SECOND / 5;
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void tryAcquireWhenIdleThenRefillCappedAtBurst() {
+        TokenBucket bucket = new TokenBucket(5, 3, 0);
+
+        long muchLater = 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(muchLater));
+        }
+        assertTrue(bucket.tryAcquire(muchLater) > 0);
+    }
+
+}
@@ -2,15 +2,15 @@ package ru.practicum.shareit.request;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
-import ru.practicum.shareit.request.controller.ItemRequestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
-import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.ratelimit.RateLimiter;
 
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -24,12 +24,21 @@ class ItemRequestControllerIntegrationTest {
     private ObjectMapper objectMapper;
 
     @MockBean
-    private ItemRequestService itemRequestService;
+    private ItemRequestClient itemRequestClient;
+
+    @MockBean
+    private RateLimiter rateLimiter;
 
     @Autowired
     private MockMvc mockMvc;
     private ItemRequestDto itemRequestDto;
 
+    @BeforeEach
+    public void addRequests() {
+        itemRequestDto = new ItemRequestDto();
+        itemRequestDto.setDescription("description");
+    }
+
     @SneakyThrows
     @Test
     void createWhenItemRequestIsNotValidThenReturnedBadRequest() {
@@ -41,7 +50,7 @@ class ItemRequestControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(itemRequestDto)))
                 .andExpect(status().isBadRequest());
 
-        verify(itemRequestService, Mockito.never()).create(Mockito.anyLong(), Mockito.any(ItemRequestDto.class));
+        verify(itemRequestClient, Mockito.never()).create(Mockito.anyLong(), Mockito.any(ItemRequestDto.class));
     }
 
 }
\ No newline at end of file
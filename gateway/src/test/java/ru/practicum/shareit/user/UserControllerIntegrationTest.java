@@ -2,15 +2,15 @@ package ru.practicum.shareit.user;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
-import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
-import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.ratelimit.RateLimiter;
 
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -24,13 +24,23 @@ class UserControllerIntegrationTest {
     private ObjectMapper objectMapper;
 
     @MockBean
-    private UserService userService;
+    private UserClient userClient;
+
+    @MockBean
+    private RateLimiter rateLimiter;
 
     @Autowired
     private MockMvc mockMvc;
 
     private UserDto userDto;
 
+    @BeforeEach
+    public void addUsers() {
+        userDto = new UserDto();
+        userDto.setName("name");
+        userDto.setEmail("name@yandex.ru");
+    }
+
     @SneakyThrows
     @Test
     void createWhenUserIsNotValidThenReturnedBadRequest() {
@@ -41,7 +51,7 @@ class UserControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(userDto)))
                 .andExpect(status().isBadRequest());
 
-        verify(userService, Mockito.never()).create(Mockito.any(UserDto.class));
+        verify(userClient, Mockito.never()).create(Mockito.any(UserDto.class));
     }
 
     @SneakyThrows
@@ -55,7 +65,7 @@ class UserControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(userDto)))
                 .andExpect(status().isBadRequest());
 
-        verify(userService, Mockito.never()).update(Mockito.anyLong(), Mockito.any(UserDto.class));
+        verify(userClient, Mockito.never()).update(Mockito.anyLong(), Mockito.any(UserDto.class));
     }
 
 }
\ No newline at end of file
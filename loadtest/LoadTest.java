@@ -0,0 +1,89 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: java loadtest/LoadTest.java <url> <concurrency> <seconds> [users]");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        int users = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        AtomicLong ok = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<List<Long>> latencies = new ArrayList<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            List<Long> workerLatencies = new ArrayList<>();
+            latencies.add(workerLatencies);
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("X-Sharer-User-Id", String.valueOf(i % users + 1))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() < 400) {
+                                ok.incrementAndGet();
+                            } else if (response.statusCode() == 429 || response.statusCode() == 503) {
+                                rejected.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                        workerLatencies.add(System.nanoTime() - start);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+
+        List<Long> all = new ArrayList<>();
+        latencies.forEach(all::addAll);
+        Collections.sort(all);
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("url=%s concurrency=%d users=%d duration=%ss%n", uri, concurrency, users,
+                duration.getSeconds());
+        System.out.printf("ok=%d rejected=%d failed=%d throughput=%.1f req/s%n",
+                ok.get(), rejected.get(), failed.get(), ok.get() / seconds);
+        System.out.printf("latency p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 1.0));
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+}
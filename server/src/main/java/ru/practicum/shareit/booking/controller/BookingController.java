@@ -7,7 +7,13 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForResponse;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.export.ExportFormat;
+import ru.practicum.shareit.export.ExportOutput;
+import ru.practicum.shareit.export.ExportService;
+import ru.practicum.shareit.pagination.Cursor;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -17,7 +23,9 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final ExportService exportService;
     public static final String HEADER = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -27,6 +35,14 @@ public class BookingController {
         return bookingService.create(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<BookingDtoForResponse> createAll(@RequestHeader(HEADER) Long userId,
+                                                 @RequestBody List<BookingDto> bookingDtos) {
+        log.info("Поступил запрос на создание {} бронирований от пользователя с id={}", bookingDtos.size(), userId);
+        return bookingService.createAll(userId, bookingDtos);
+    }
+
     @PatchMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public BookingDtoForResponse approveOrReject(@RequestHeader(HEADER) Long userId,
@@ -50,10 +66,19 @@ public class BookingController {
     public List<BookingDtoForResponse> getAllByBooker(@RequestHeader(HEADER) Long userId,
                                                       @RequestParam(defaultValue = "ALL") State state,
                                                       @RequestParam(defaultValue = "0") Integer from,
-                                                      @RequestParam(defaultValue = "20") Integer size) {
+                                                      @RequestParam(defaultValue = "20") Integer size,
+                                                      @RequestParam(required = false) String after,
+                                                      HttpServletResponse response) {
         log.info("Поступил запрос на получение всех бронирований от пользователя с id={} со статусом {}, " +
-                "from={}, size={}", userId, state, from, size);
-        return bookingService.getAllByBooker(userId, state, from, size);
+                "from={}, size={}, after={}", userId, state, from, size, after);
+        List<BookingDtoForResponse> bookings;
+        if (after == null) {
+            bookings = bookingService.getAllByBooker(userId, state, from, size);
+        } else {
+            bookings = bookingService.getAllByBooker(userId, state, Cursor.decode(after), size);
+        }
+        setNextCursor(response, bookings, size);
+        return bookings;
     }
 
     @GetMapping("/owner")
@@ -61,11 +86,35 @@ public class BookingController {
     public List<BookingDtoForResponse> getAllByOwner(@RequestHeader(HEADER) Long userId,
                                                      @RequestParam(defaultValue = "ALL") State state,
                                                      @RequestParam(defaultValue = "0") Integer from,
-                                                     @RequestParam(defaultValue = "20") Integer size) {
+                                                     @RequestParam(defaultValue = "20") Integer size,
+                                                     @RequestParam(required = false) String after,
+                                                     HttpServletResponse response) {
         log.info("Поступил запрос на получение всех бронирований от пользователя(owner) с id={} со статусом {}, " +
-                "from={}, size={}", userId, state, from, size);
+                "from={}, size={}, after={}", userId, state, from, size, after);
+        List<BookingDtoForResponse> bookings;
+        if (after == null) {
+            bookings = bookingService.getAllByOwner(userId, state, from, size);
+        } else {
+            bookings = bookingService.getAllByOwner(userId, state, Cursor.decode(after), size);
+        }
+        setNextCursor(response, bookings, size);
+        return bookings;
+    }
+
+    @GetMapping("/export")
+    public void exportBookings(@RequestHeader(HEADER) Long userId,
+                               @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                               HttpServletResponse response) throws IOException {
+        log.info("Поступил запрос на выгрузку всех бронирований от пользователя с id={}, format={}", userId, format);
+        exportService.exportBookingsByBooker(userId, format, ExportOutput.to(response, "bookings"));
+    }
 
-        return bookingService.getAllByOwner(userId, state, from, size);
+    private static void setNextCursor(HttpServletResponse response, List<BookingDtoForResponse> bookings,
+                                      Integer size) {
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            BookingDtoForResponse last = bookings.get(bookings.size() - 1);
+            response.setHeader(NEXT_CURSOR_HEADER, new Cursor(last.getStart(), last.getId()).encode());
+        }
     }
 
 }
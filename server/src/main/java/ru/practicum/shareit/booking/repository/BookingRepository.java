@@ -1,47 +1,33 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.export.BookingExportRow;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-@Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    Optional<Booking> findByIdAndItemOwnerId(Long id, Long userId);
-
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long userId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime someMoment,
-                                                                             LocalDateTime anotherMoment,
-                                                                             Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime someMoment,
-                                                                Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime someMoment,
-                                                                 Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long userId, Status status, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long userId, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId, LocalDateTime someMoment,
-                                                                                LocalDateTime anotherMoment,
-                                                                                Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime someMoment,
-                                                                   Pageable pageable);
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime someMoment,
-                                                                    Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Override
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long userId, Status status, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findByIdAndItemOwnerId(Long id, Long userId);
 
     Optional<Booking> findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(Long itemId, LocalDateTime someMoment,
                                                                                Status status);
@@ -49,6 +35,27 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<Booking> findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(Long itemId, LocalDateTime someMoment,
                                                                              Status status);
 
+    @Query("select b from Booking b where b.item.id in :itemIds and b.status = :status and b.start = " +
+            "(select max(lb.start) from Booking lb where lb.item.id = b.item.id and lb.status = :status " +
+            "and lb.start < :someMoment)")
+    List<Booking> findAllLastByItemIdInAndStatus(@Param("itemIds") Collection<Long> itemIds,
+                                                 @Param("someMoment") LocalDateTime someMoment,
+                                                 @Param("status") Status status);
+
+    @Query("select b from Booking b where b.item.id in :itemIds and b.status = :status and b.start = " +
+            "(select min(nb.start) from Booking nb where nb.item.id = b.item.id and nb.status = :status " +
+            "and nb.start > :someMoment)")
+    List<Booking> findAllNextByItemIdInAndStatus(@Param("itemIds") Collection<Long> itemIds,
+                                                 @Param("someMoment") LocalDateTime someMoment,
+                                                 @Param("status") Status status);
+
     List<Booking> findAllByBookerIdAndItemIdAndEndBeforeOrderByStartDesc(Long userId, Long itemId,
                                                                          LocalDateTime someMoment);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new ru.practicum.shareit.export.BookingExportRow(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.owner.id) " +
+            "from Booking b join b.item i " +
+            "where b.booker.id = :bookerId order by b.start desc, b.id desc")
+    Stream<BookingExportRow> streamAllByBookerId(@Param("bookerId") Long bookerId);
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.controller.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.pagination.Cursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<Booking> findAllByState(BookingRole role, Long userId, State state, LocalDateTime someMoment,
+                                 Pageable pageable);
+
+    List<Booking> findAllByStateAfter(BookingRole role, Long userId, State state, LocalDateTime someMoment,
+                                      Cursor after, int size);
+}
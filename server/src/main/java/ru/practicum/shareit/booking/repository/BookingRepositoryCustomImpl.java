@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.controller.State;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findAllByState(BookingRole role, Long userId, State state, LocalDateTime someMoment,
+                                        Pageable pageable) {
+        return createQuery(role, userId, state, someMoment, null)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<Booking> findAllByStateAfter(BookingRole role, Long userId, State state, LocalDateTime someMoment,
+                                             Cursor after, int size) {
+        return createQuery(role, userId, state, someMoment, after)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypedQuery<Booking> createQuery(BookingRole role, Long userId, State state, LocalDateTime someMoment,
+                                            Cursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = (Join<Booking, Item>) booking.<Booking, Item>fetch("item");
+        booking.fetch("booker");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (role == BookingRole.OWNER) {
+            predicates.add(cb.equal(item.get("owner").get("id"), userId));
+        } else {
+            predicates.add(cb.equal(booking.get("booker").get("id"), userId));
+        }
+        switch (state) {
+            case CURRENT:
+                predicates.add(cb.lessThan(start, someMoment));
+                predicates.add(cb.greaterThan(end, someMoment));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(end, someMoment));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, someMoment));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(booking.get("status"), Status.WAITING));
+                break;
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), Status.REJECTED));
+                break;
+            default:
+                break;
+        }
+        if (after != null) {
+            predicates.add(cb.or(cb.lessThan(start, after.getStart()),
+                    cb.and(cb.equal(start, after.getStart()), cb.lessThan(id, after.getId()))));
+        }
+
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+        return entityManager.createQuery(query);
+    }
+
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.service;
 import ru.practicum.shareit.booking.controller.State;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForResponse;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.util.List;
 
@@ -10,11 +11,17 @@ public interface BookingService {
 
     BookingDtoForResponse create(Long userId, BookingDto bookingDto);
 
+    List<BookingDtoForResponse> createAll(Long userId, List<BookingDto> bookingDtos);
+
     BookingDtoForResponse approveOrReject(Long userId, Long id, Boolean approved);
 
     BookingDtoForResponse getById(Long userId, Long id);
 
     List<BookingDtoForResponse> getAllByBooker(Long userId, State state, Integer from, Integer size);
 
+    List<BookingDtoForResponse> getAllByBooker(Long userId, State state, Cursor after, Integer size);
+
     List<BookingDtoForResponse> getAllByOwner(Long userId, State state, Integer from, Integer size);
+
+    List<BookingDtoForResponse> getAllByOwner(Long userId, State state, Cursor after, Integer size);
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForResponse;
 import ru.practicum.shareit.booking.dto.BookingDtoMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BookingAlreadyApprovedException;
@@ -18,6 +19,7 @@ import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ItemNotAvailableException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.pagination.CustomPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -25,6 +27,8 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -70,6 +74,51 @@ public class BookingServiceImpl implements BookingService {
         return mapper.bookingToDto(newBooking);
     }
 
+    @Transactional
+    @Override
+    public List<BookingDtoForResponse> createAll(Long userId, List<BookingDto> bookingDtos) {
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+
+        User booker = userRepository.findById(userId).orElseThrow(() -> {
+            log.warn("Пользователь с id {} не найден", userId);
+            throw new EntityNotFoundException(String.format("Пользователь с id %d не найден", userId));
+        });
+
+        List<Booking> bookings = new ArrayList<>(bookingDtos.size());
+        for (BookingDto bookingDto : bookingDtos) {
+            Item item = items.get(bookingDto.getItemId());
+            if (item == null) {
+                log.warn("Вещь с id {} не найдена", bookingDto.getItemId());
+                throw new EntityNotFoundException(String.format("Вещь с id %d не найдена", bookingDto.getItemId()));
+            }
+            if (!item.getAvailable()) {
+                log.warn("Вещь с id {} недоступна для бронирования", bookingDto.getItemId());
+                throw new ItemNotAvailableException(String.format("Вещь с id %d недоступна для бронирования",
+                        bookingDto.getItemId()));
+            }
+            if (item.getOwner().getId().equals(userId)) {
+                log.warn("Пользователь с id {} является владельцем вещи с id {} и не может ее забронировать", userId,
+                        bookingDto.getItemId());
+                throw new EntityNotFoundException(String.format("Пользователь с id %d является владельцем вещи " +
+                        "с id %d и не может ее забронировать", userId, bookingDto.getItemId()));
+            }
+            Booking booking = mapper.dtoToBooking(bookingDto);
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(Status.WAITING);
+            bookings.add(booking);
+        }
+
+        List<Booking> newBookings = bookingRepository.saveAll(bookings);
+        log.info("Добавлено {} бронирований пользователя с id {}", newBookings.size(), userId);
+        return mapper.bookingToDto(newBookings);
+    }
+
     @Transactional
     @Override
     public BookingDtoForResponse approveOrReject(Long userId, Long id, Boolean approved) {
@@ -114,74 +163,43 @@ public class BookingServiceImpl implements BookingService {
     @Transactional(readOnly = true)
     @Override
     public List<BookingDtoForResponse> getAllByBooker(Long userId, State state, Integer from, Integer size) {
-        if (!userRepository.existsById(userId)) {
-            log.warn("Пользователь с id {} не найден", userId);
-            throw new EntityNotFoundException(String.format("Пользователь с id %d не найден", userId));
-        }
+        checkUserExists(userId);
         Pageable page = CustomPageRequest.of(from, size);
-        List<Booking> bookings = new ArrayList<>();
-        LocalDateTime currentMoment = LocalDateTime.now();
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(userId, page);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
-                        currentMoment, currentMoment, page);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, currentMoment, page);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, currentMoment,
-                        page);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, Status.WAITING, page);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, Status.REJECTED, page);
-        }
-        return bookings
-                .stream()
-                .map(mapper::bookingToDto)
-                .collect(Collectors.toList());
+        return toDto(bookingRepository.findAllByState(BookingRole.BOOKER, userId, state, LocalDateTime.now(), page));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookingDtoForResponse> getAllByBooker(Long userId, State state, Cursor after, Integer size) {
+        checkUserExists(userId);
+        return toDto(bookingRepository.findAllByStateAfter(BookingRole.BOOKER, userId, state, LocalDateTime.now(),
+                after, size));
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<BookingDtoForResponse> getAllByOwner(Long userId, State state, Integer from, Integer size) {
+        checkUserExists(userId);
+        Pageable page = CustomPageRequest.of(from, size);
+        return toDto(bookingRepository.findAllByState(BookingRole.OWNER, userId, state, LocalDateTime.now(), page));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookingDtoForResponse> getAllByOwner(Long userId, State state, Cursor after, Integer size) {
+        checkUserExists(userId);
+        return toDto(bookingRepository.findAllByStateAfter(BookingRole.OWNER, userId, state, LocalDateTime.now(),
+                after, size));
+    }
+
+    private void checkUserExists(Long userId) {
         if (!userRepository.existsById(userId)) {
             log.warn("Пользователь с id {} не найден", userId);
             throw new EntityNotFoundException(String.format("Пользователь с id %d не найден", userId));
         }
-        Pageable page = CustomPageRequest.of(from, size);
-        List<Booking> bookings = new ArrayList<>();
-        LocalDateTime currentMoment = LocalDateTime.now();
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId, page);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
-                        currentMoment, currentMoment, page);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, currentMoment,
-                        page);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(userId, currentMoment,
-                        page);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, Status.WAITING,
-                        page);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, Status.REJECTED,
-                        page);
-        }
+    }
+
+    private List<BookingDtoForResponse> toDto(List<Booking> bookings) {
         return bookings
                 .stream()
                 .map(mapper::bookingToDto)
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"id", "start", "end", "status", "itemId", "itemName", "ownerId"})
+public class BookingExportRow {
+    Long id;
+    LocalDateTime start;
+    LocalDateTime end;
+    Status status;
+    Long itemId;
+    String itemName;
+    Long ownerId;
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.export;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+
+@FunctionalInterface
+public interface ExportOutput {
+
+    OutputStream open(ExportFormat format) throws IOException;
+
+    static ExportOutput to(HttpServletResponse response, String fileName) {
+        return format -> {
+            response.setContentType(format.getMediaType().toString());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(fileName + "." + format.getExtension())
+                    .build()
+                    .toString());
+            return response.getOutputStream();
+        };
+    }
+}
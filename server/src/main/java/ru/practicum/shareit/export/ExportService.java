@@ -0,0 +1,87 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class ExportService {
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    public ExportService(UserRepository userRepository, ItemRepository itemRepository,
+                         BookingRepository bookingRepository, ObjectMapper objectMapper,
+                         Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.objectMapper = objectMapper;
+        this.csvMapper = new CsvMapper();
+        objectMapperBuilder.configure(csvMapper);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportItemsByOwner(Long userId, ExportFormat format, ExportOutput output) throws IOException {
+        checkUser(userId);
+        try (Stream<ItemBookingExportRow> rows = itemRepository.streamAllWithBookingsByOwnerId(userId)) {
+            long count = write(rows, ItemBookingExportRow.class, format, output.open(format));
+            log.info("Выгружено {} строк вещей с бронированиями пользователя с id {}", count, userId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportBookingsByBooker(Long userId, ExportFormat format, ExportOutput output) throws IOException {
+        checkUser(userId);
+        try (Stream<BookingExportRow> rows = bookingRepository.streamAllByBookerId(userId)) {
+            long count = write(rows, BookingExportRow.class, format, output.open(format));
+            log.info("Выгружено {} бронирований пользователя с id {}", count, userId);
+        }
+    }
+
+    private void checkUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.warn("Пользователь с id {} не найден", userId);
+            throw new EntityNotFoundException(String.format("Пользователь с id %d не найден", userId));
+        }
+    }
+
+    private <T> long write(Stream<T> rows, Class<T> type, ExportFormat format, OutputStream out) throws IOException {
+        ObjectWriter writer = format == ExportFormat.CSV
+                ? csvMapper.writer(csvMapper.schemaFor(type).withHeader())
+                : objectMapper.writerFor(type).withRootValueSeparator("\n");
+        long count = 0;
+        try (SequenceWriter sequence = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValues(out)) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sequence.write(iterator.next());
+                count++;
+            }
+        }
+        if (format == ExportFormat.NDJSON && count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"itemId", "itemName", "itemDescription", "itemAvailable", "bookingId", "bookingStart",
+        "bookingEnd", "bookingStatus", "bookerId"})
+public class ItemBookingExportRow {
+    Long itemId;
+    String itemName;
+    String itemDescription;
+    Boolean itemAvailable;
+    Long bookingId;
+    LocalDateTime bookingStart;
+    LocalDateTime bookingEnd;
+    Status bookingStatus;
+    Long bookerId;
+}
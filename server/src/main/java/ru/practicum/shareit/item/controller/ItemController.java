@@ -3,11 +3,20 @@ package ru.practicum.shareit.item.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import ru.practicum.shareit.export.ExportFormat;
+import ru.practicum.shareit.export.ExportOutput;
+import ru.practicum.shareit.export.ExportService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemBulkImporter;
 import ru.practicum.shareit.item.service.ItemService;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 import static ru.practicum.shareit.booking.controller.BookingController.HEADER;
@@ -19,6 +28,8 @@ import static ru.practicum.shareit.booking.controller.BookingController.HEADER;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemBulkImporter itemBulkImporter;
+    private final ExportService exportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -38,6 +49,35 @@ public class ItemController {
         return itemService.getAllByOwner(userId, from, size);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<ItemDto> createAll(@RequestHeader(HEADER) Long userId,
+                                   @RequestBody List<ItemDto> itemDtos) {
+        log.info("Поступил запрос на создание {} вещей от пользователя с id={}", itemDtos.size(), userId);
+        return itemService.createAll(userId, itemDtos);
+    }
+
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importItems(@RequestHeader(HEADER) Long userId,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        log.info("Поступил запрос на загрузку вещей от пользователя с id={}", userId);
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        itemBulkImporter.importItems(userId, request.getInputStream(), response.getOutputStream());
+    }
+
+    @GetMapping("/export")
+    public void exportItems(@RequestHeader(HEADER) Long userId,
+                            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        log.info("Поступил запрос на выгрузку вещей с бронированиями от пользователя с id={}, format={}",
+                userId, format);
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        exportService.exportItemsByOwner(userId, format, ExportOutput.to(response, "items"));
+    }
+
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public ItemDto getById(@RequestHeader(HEADER) Long userId,
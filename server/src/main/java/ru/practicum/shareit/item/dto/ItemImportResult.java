@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportResult {
+    Long line;
+    Integer status;
+    Long id;
+    String error;
+}
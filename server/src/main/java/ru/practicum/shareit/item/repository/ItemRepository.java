@@ -3,19 +3,45 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.export.ItemBookingExportRow;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwnerIdOrderByIdAsc(Long userId, Pageable pageable);
 
-    @Query("select i from Item i where ((lower(i.name) like lower(concat('%', :text, '%')) or lower(i.description) like" +
-            " lower(concat('%', :text, '%'))) and i.available = true)")
+    @Query(value = "select i.* from items i where i.is_available = true " +
+            "and (i.name ilike concat('%', :text, '%') or i.description ilike concat('%', :text, '%')) " +
+            "order by i.id",
+            nativeQuery = true)
     List<Item> findAllAvailableByText(@Param("text") String text, Pageable pageable);
 
+    @Query(value = "select i.* from items i where i.is_available = true " +
+            "and i.search_vector @@ to_tsquery('simple', :query) " +
+            "order by ts_rank(i.search_vector, to_tsquery('simple', :query)) desc, i.id",
+            nativeQuery = true)
+    List<Item> findAllAvailableByFullText(@Param("query") String query, Pageable pageable);
+
     List<Item> findAllByRequestIdOrderByIdAsc(Long requestId);
+
+    List<Item> findAllByRequestIdInOrderByIdAsc(Collection<Long> requestIds);
+
+    List<Item> findAllByAvailableTrue();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new ru.practicum.shareit.export.ItemBookingExportRow(i.id, i.name, i.description, i.available, " +
+            "b.id, b.start, b.end, b.status, b.booker.id) " +
+            "from Item i left join Booking b on b.item = i " +
+            "where i.owner.id = :ownerId order by i.id, b.start, b.id")
+    Stream<ItemBookingExportRow> streamAllWithBookingsByOwnerId(@Param("ownerId") Long ownerId);
 }
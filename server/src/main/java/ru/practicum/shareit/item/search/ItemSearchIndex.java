@@ -0,0 +1,182 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final ItemRepository itemRepository;
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+    private final LongPostingList allIds = new LongPostingList();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    @Value("${shareit.search.mode:LIKE}")
+    private SearchMode searchMode = SearchMode.LIKE;
+
+    public boolean isEnabled() {
+        return searchMode == SearchMode.IN_MEMORY;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Item> items = itemRepository.findAllByAvailableTrue();
+        items.forEach(this::index);
+        log.info("Построен поисковый индекс по {} доступным вещам", items.size());
+    }
+
+    public void index(Item item) {
+        if (!isEnabled()) {
+            return;
+        }
+        afterCommit(() -> indexNow(item));
+    }
+
+    public void remove(Long itemId) {
+        if (!isEnabled()) {
+            return;
+        }
+        afterCommit(() -> removeNow(itemId));
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private void indexNow(Item item) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                addDocument(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeNow(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, long offset, int limit) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            List<Long> found = new ArrayList<>();
+            long skipped = 0;
+            LongPostingList candidates = findCandidates(query);
+            for (int i = 0; i < candidates.size() && found.size() < limit; i++) {
+                long id = candidates.get(i);
+                if (documents.get(id).contains(query) && skipped++ >= offset) {
+                    found.add(id);
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private LongPostingList findCandidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return allIds;
+        }
+        List<LongPostingList> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            LongPostingList list = postings.get(gram);
+            if (list == null) {
+                return new LongPostingList();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+        LongPostingList candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            LongPostingList other = lists.get(i);
+            LongPostingList intersection = new LongPostingList();
+            for (int j = 0; j < candidates.size(); j++) {
+                if (other.contains(candidates.get(j))) {
+                    intersection.add(candidates.get(j));
+                }
+            }
+            candidates = intersection;
+        }
+        return candidates;
+    }
+
+    private void addDocument(Item item) {
+        String name = normalize(item.getName());
+        String description = normalize(item.getDescription());
+        documents.put(item.getId(), name + FIELD_SEPARATOR + description);
+        allIds.add(item.getId());
+        Set<String> grams = grams(name);
+        grams.addAll(grams(description));
+        grams.forEach(gram -> postings.computeIfAbsent(gram, key -> new LongPostingList()).add(item.getId()));
+    }
+
+    private void removeDocument(Long itemId) {
+        String document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        allIds.remove(itemId);
+        int separator = document.indexOf(FIELD_SEPARATOR);
+        Set<String> grams = grams(document.substring(0, separator));
+        grams.addAll(grams(document.substring(separator + 1)));
+        grams.forEach(gram -> {
+            LongPostingList list = postings.get(gram);
+            list.remove(itemId);
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        });
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.item.search;
+
+public enum SearchMode {
+    LIKE, FULL_TEXT, IN_MEMORY
+}
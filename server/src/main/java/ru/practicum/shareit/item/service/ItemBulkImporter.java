@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBulkImporter {
+
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    @Value("${shareit.items.bulk.batch-size:500}")
+    private int batchSize = 500;
+
+    public void importItems(Long userId, InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        List<ItemImportResult> results = new ArrayList<>(batchSize);
+        List<ItemDto> items = new ArrayList<>(batchSize);
+        List<ItemImportResult> itemResults = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        long created = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ItemImportResult result = new ItemImportResult();
+            result.setLine(lineNumber);
+            results.add(result);
+            try {
+                items.add(objectMapper.readValue(line, ItemDto.class));
+                itemResults.add(result);
+            } catch (JsonProcessingException e) {
+                fail(result, HttpStatus.BAD_REQUEST, "Некорректный JSON: " + e.getOriginalMessage());
+            }
+            if (results.size() == batchSize) {
+                created += saveBatch(userId, items, itemResults);
+                writeResults(writer, results);
+            }
+        }
+        created += saveBatch(userId, items, itemResults);
+        writeResults(writer, results);
+        log.info("Загружено {} вещей пользователя с id {} из {} строк", created, userId, lineNumber);
+    }
+
+    private int saveBatch(Long userId, List<ItemDto> items, List<ItemImportResult> itemResults) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        int created = 0;
+        try {
+            List<ItemDto> newItems = itemService.createAll(userId, items);
+            for (int i = 0; i < newItems.size(); i++) {
+                succeed(itemResults.get(i), newItems.get(i).getId());
+            }
+            created = newItems.size();
+        } catch (EntityNotFoundException e) {
+            itemResults.forEach(result -> fail(result, HttpStatus.NOT_FOUND, e.getMessage()));
+        } catch (RuntimeException e) {
+            log.warn("Пакет из {} вещей не сохранен, сохраняем построчно: {}", items.size(), e.getMessage());
+            for (int i = 0; i < items.size(); i++) {
+                if (saveOne(userId, items.get(i), itemResults.get(i))) {
+                    created++;
+                }
+            }
+        }
+        items.clear();
+        itemResults.clear();
+        return created;
+    }
+
+    private boolean saveOne(Long userId, ItemDto item, ItemImportResult result) {
+        try {
+            succeed(result, itemService.create(userId, item).getId());
+            return true;
+        } catch (EntityNotFoundException e) {
+            fail(result, HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            fail(result, HttpStatus.BAD_REQUEST, "Вещь не прошла проверку ограничений базы данных");
+        } catch (RuntimeException e) {
+            fail(result, HttpStatus.INTERNAL_SERVER_ERROR, "Не удалось сохранить вещь");
+        }
+        return false;
+    }
+
+    private void writeResults(Writer writer, List<ItemImportResult> results) throws IOException {
+        for (ItemImportResult result : results) {
+            writer.write(objectMapper.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+        results.clear();
+    }
+
+    private static void succeed(ItemImportResult result, Long id) {
+        result.setStatus(HttpStatus.CREATED.value());
+        result.setId(id);
+    }
+
+    private static void fail(ItemImportResult result, HttpStatus status, String error) {
+        result.setStatus(status.value());
+        result.setError(error);
+    }
+
+}
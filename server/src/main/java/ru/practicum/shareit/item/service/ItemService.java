@@ -9,6 +9,8 @@ public interface ItemService {
 
     ItemDto create(Long userId, ItemDto itemDto);
 
+    List<ItemDto> createAll(Long userId, List<ItemDto> itemDtos);
+
     List<ItemDto> getAllByOwner(Long userId, Integer from, Integer size);
 
     ItemDto getById(Long userId, Long id);
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +18,8 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.SearchMode;
 import ru.practicum.shareit.pagination.CustomPageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -37,9 +40,12 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
     private final BookingDtoMapper mapper = Mappers.getMapper(BookingDtoMapper.class);
     private final CommentDtoMapper commentDtoMapper = Mappers.getMapper(CommentDtoMapper.class);
     private final ItemDtoMapper itemDtoMapper = Mappers.getMapper(ItemDtoMapper.class);
+    @Value("${shareit.search.mode:LIKE}")
+    private SearchMode searchMode = SearchMode.LIKE;
 
     @Transactional
     @Override
@@ -58,19 +64,76 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item newItem = itemRepository.save(item);
+        itemSearchIndex.index(newItem);
         log.info("Добавленa вещь: {}", newItem);
         return itemDtoMapper.itemToDto(newItem);
     }
 
+    @Transactional
+    @Override
+    public List<ItemDto> createAll(Long userId, List<ItemDto> itemDtos) {
+        User owner = userRepository.findById(userId).orElseThrow(() -> {
+            log.warn("Пользователь с id {} не найден", userId);
+            throw new EntityNotFoundException(String.format("Пользователь с id %d не найден", userId));
+        });
+
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of() : itemRequestRepository
+                .findAllById(requestIds)
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, request -> request));
+
+        List<Item> items = new ArrayList<>(itemDtos.size());
+        for (ItemDto itemDto : itemDtos) {
+            Item item = itemDtoMapper.dtoToItem(itemDto);
+            item.setOwner(owner);
+            if (itemDto.getRequestId() != null) {
+                item.setRequest(requests.get(itemDto.getRequestId()));
+            }
+            items.add(item);
+        }
+
+        List<Item> newItems = itemRepository.saveAll(items);
+        newItems.forEach(itemSearchIndex::index);
+        log.info("Добавлено {} вещей пользователя с id {}", newItems.size(), userId);
+        return itemDtoMapper.itemToDto(newItems);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public List<ItemDto> getAllByOwner(Long userId, Integer from, Integer size) {
         Pageable page = CustomPageRequest.of(from, size);
         List<Item> thisOwnerItems = itemRepository.findAllByOwnerIdOrderByIdAsc(userId, page);
+        if (thisOwnerItems.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> itemIds = thisOwnerItems.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime currentMoment = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = groupByItemId(bookingRepository.findAllLastByItemIdInAndStatus(itemIds,
+                currentMoment, Status.APPROVED));
+        Map<Long, Booking> nextBookings = groupByItemId(bookingRepository.findAllNextByItemIdInAndStatus(itemIds,
+                currentMoment, Status.APPROVED));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentDtoMapper::commentToDto, Collectors.toList())));
         List<ItemDto> items = new ArrayList<>();
         for (Item item : thisOwnerItems) {
-            ItemDto itemDto = setLastBookingAndNextBooking(item);
-            setComments(itemDto);
+            ItemDto itemDto = itemDtoMapper.itemToDto(item);
+            Booking lastBooking = lastBookings.get(item.getId());
+            if (lastBooking != null) {
+                itemDto.setLastBooking(mapper.bookingToDtoForItem(lastBooking));
+            }
+            Booking nextBooking = nextBookings.get(item.getId());
+            if (nextBooking != null) {
+                itemDto.setNextBooking(mapper.bookingToDtoForItem(nextBooking));
+            }
+            itemDto.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
             items.add(itemDto);
         }
         return items;
@@ -116,6 +179,7 @@ public class ItemServiceImpl implements ItemService {
             throw new EntityNotFoundException(String.format("Вещь с id %d не найдена у владельца с id %d", id, userId));
         }
         Item updatedItem = itemRepository.save(oldItem);
+        itemSearchIndex.index(updatedItem);
         log.info("Обновлена вещь c id {} на {}", id, updatedItem);
         return itemDtoMapper.itemToDto(oldItem);
     }
@@ -124,6 +188,7 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public void delete(Long id) {
         itemRepository.deleteById(id);
+        itemSearchIndex.remove(id);
         log.info("Удалена вещь с id {}", id);
     }
 
@@ -134,7 +199,26 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         } else {
             Pageable page = CustomPageRequest.of(from, size);
-            return itemRepository.findAllAvailableByText(text, page)
+            List<Item> items;
+            if (searchMode == SearchMode.FULL_TEXT) {
+                String query = toPrefixTsQuery(text);
+                if (query.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                items = itemRepository.findAllAvailableByFullText(query, page);
+            } else if (searchMode == SearchMode.IN_MEMORY) {
+                List<Long> ids = itemSearchIndex.search(text, page.getOffset(), page.getPageSize());
+                Map<Long, Item> itemsById = itemRepository.findAllById(ids)
+                        .stream()
+                        .collect(Collectors.toMap(Item::getId, item -> item));
+                items = ids.stream()
+                        .map(itemsById::get)
+                        .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()))
+                        .collect(Collectors.toList());
+            } else {
+                items = itemRepository.findAllAvailableByText(text, page);
+            }
+            return items
                     .stream()
                     .map(itemDtoMapper::itemToDto)
                     .collect(Collectors.toList());
@@ -190,6 +274,19 @@ public class ItemServiceImpl implements ItemService {
         return itemDto;
     }
 
+    private static String toPrefixTsQuery(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private Map<Long, Booking> groupByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking,
+                        (booking, anotherBooking) -> booking.getId() > anotherBooking.getId() ? booking : anotherBooking));
+    }
+
     @Transactional(readOnly = true)
     private void setComments(ItemDto itemDto) {
         List<CommentDto> comments = commentRepository.findAllByItemId(itemDto.getId())
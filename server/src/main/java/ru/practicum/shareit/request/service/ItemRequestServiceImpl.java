@@ -21,7 +21,9 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -60,13 +62,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
             throw new EntityNotFoundException(String.format("Пользователь с id %d не найден", userId));
         }
         List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(userId);
-        List<ItemRequestDtoForResponse> allDto = new ArrayList<>();
-        itemRequests.forEach(itemRequest -> {
-            ItemRequestDtoForResponse dto = mapper.itemRequestToDto(itemRequest);
-            setItems(dto);
-            allDto.add(dto);
-        });
-        return allDto;
+        return toDtoWithItems(itemRequests);
     }
 
     @Transactional(readOnly = true)
@@ -90,12 +86,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDtoForResponse> getAll(Long userId, Integer from, Integer size) {
         Pageable page = CustomPageRequest.of(from, size);
         List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId, page);
+        return toDtoWithItems(itemRequests);
+    }
+
+    private List<ItemRequestDtoForResponse> toDtoWithItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDtoForItemRequest>> items = itemRepository.findAllByRequestIdInOrderByIdAsc(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(itemDtoMapper::itemToDtoForItemRequest, Collectors.toList())));
         List<ItemRequestDtoForResponse> allDto = new ArrayList<>();
-        itemRequests.forEach(itemRequest -> {
+        for (ItemRequest itemRequest : itemRequests) {
             ItemRequestDtoForResponse dto = mapper.itemRequestToDto(itemRequest);
-            setItems(dto);
+            dto.setItems(items.getOrDefault(itemRequest.getId(), Collections.emptyList()));
             allDto.add(dto);
-        });
+        }
         return allDto;
     }
 
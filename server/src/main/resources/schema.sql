@@ -1,20 +1,32 @@
 DROP TABLE IF EXISTS comments, bookings, items, requests, users;
 
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users ( 
-	id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, 
+	id BIGINT PRIMARY KEY, 
 	name varchar(128) NOT NULL,
 	email varchar(128) NOT NULL UNIQUE
 );
 
 CREATE TABLE IF NOT EXISTS requests (
-	id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+	id BIGINT PRIMARY KEY,
 	description varchar(1024) NOT NULL,
 	requestor_id BIGINT REFERENCES users (id),
 	created TIMESTAMP
 );
 
 CREATE TABLE IF NOT EXISTS items (
-	id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, 
+	id BIGINT PRIMARY KEY, 
 	name varchar(128) NOT NULL,
 	description varchar(1024) NOT NULL,
 	is_available boolean NOT NULL,
@@ -23,7 +35,7 @@ CREATE TABLE IF NOT EXISTS items (
 );
 
 CREATE TABLE IF NOT EXISTS bookings (
-	id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, 
+	id BIGINT PRIMARY KEY, 
 	start_date TIMESTAMP,
 	end_date TIMESTAMP,
 	item_id BIGINT REFERENCES items (id),
@@ -32,9 +44,17 @@ CREATE TABLE IF NOT EXISTS bookings (
 );
 
 CREATE TABLE IF NOT EXISTS comments (
-	id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, 
+	id BIGINT PRIMARY KEY, 
 	text varchar(1024),
 	author_id BIGINT REFERENCES users (id),
 	item_id BIGINT REFERENCES items (id),
 	created TIMESTAMP
-)
+);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_start_date_idx ON bookings (booker_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_start_date_idx ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_item_id_end_date_idx ON bookings (booker_id, item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id)
@@ -0,0 +1,46 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+public final class EntityFixtures {
+
+    private EntityFixtures() {
+    }
+
+    public static User persistUser(EntityManager em, String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@yandex.ru");
+        em.persist(user);
+        return user;
+    }
+
+    public static Item persistItem(EntityManager em, String name, User owner) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        em.persist(item);
+        return item;
+    }
+
+    public static Booking persistBooking(EntityManager em, Item item, User booker, LocalDateTime start,
+                                         LocalDateTime end, Status status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        em.persist(booking);
+        return booking;
+    }
+
+}
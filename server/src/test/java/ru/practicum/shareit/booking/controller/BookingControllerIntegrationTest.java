@@ -12,11 +12,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForResponse;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.export.ExportFormat;
+import ru.practicum.shareit.export.ExportService;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -31,6 +35,9 @@ class BookingControllerIntegrationTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private ExportService exportService;
+
     @Autowired
     private MockMvc mockMvc;
     private BookingDtoForResponse bookingDtoForResponse;
@@ -137,4 +144,64 @@ class BookingControllerIntegrationTest {
                 Mockito.anyInt());
     }
 
-}
\ No newline at end of file
+    @SneakyThrows
+    @Test
+    void getAllByBookerWhenPageIsFullThenReturnedNextCursor() {
+        bookingDtoForResponse.setId(7L);
+        bookingDtoForResponse.setStart(LocalDateTime.of(2030, 1, 1, 12, 0));
+        Mockito.when(bookingService.getAllByBooker(Mockito.anyLong(), Mockito.any(State.class), Mockito.anyInt(),
+                Mockito.anyInt())).thenReturn(List.of(bookingDtoForResponse));
+
+        String nextCursor = mockMvc.perform(get("/bookings")
+                        .header(HEADER, 1L)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(BookingController.NEXT_CURSOR_HEADER);
+
+        assertEquals(new Cursor(bookingDtoForResponse.getStart(), 7L), Cursor.decode(nextCursor));
+    }
+
+    @SneakyThrows
+    @Test
+    void getAllByOwnerWhenAfterThenReturnedPageAfterCursor() {
+        Cursor after = new Cursor(LocalDateTime.of(2030, 1, 1, 12, 0), 7L);
+        Mockito.when(bookingService.getAllByOwner(1L, State.ALL, after, 20)).thenReturn(List.of(bookingDtoForResponse));
+
+        String nextCursor = mockMvc.perform(get("/bookings/owner")
+                        .header(HEADER, 1L)
+                        .param("after", after.encode()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(BookingController.NEXT_CURSOR_HEADER);
+
+        assertNull(nextCursor);
+        verify(bookingService).getAllByOwner(1L, State.ALL, after, 20);
+    }
+
+    @SneakyThrows
+    @Test
+    void getAllByBookerWhenAfterIsInvalidThenReturnedBadRequest() {
+        mockMvc.perform(get("/bookings")
+                        .header(HEADER, 1L)
+                        .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, Mockito.never()).getAllByBooker(Mockito.anyLong(), Mockito.any(State.class),
+                Mockito.any(Cursor.class), Mockito.anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    void exportBookingsWhenCsvThenDelegatedToExportService() {
+        mockMvc.perform(get("/bookings/export")
+                        .header(HEADER, 1L)
+                        .param("format", "CSV"))
+                .andExpect(status().isOk());
+
+        verify(exportService).exportBookingsByBooker(Mockito.eq(1L), Mockito.eq(ExportFormat.CSV), Mockito.any());
+    }
+
+}
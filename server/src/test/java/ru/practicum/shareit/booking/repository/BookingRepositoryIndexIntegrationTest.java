@@ -0,0 +1,226 @@
+package ru.practicum.shareit.booking.repository;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.controller.State;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.pagination.Cursor;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class BookingRepositoryIndexIntegrationTest {
+
+    private static final List<QueryInfo> queries = new CopyOnWriteArrayList<>();
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Cursor AFTER = new Cursor(NOW, 100L);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @TestConfiguration
+    static class QueryCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor dataSourceProxy() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .afterQuery((execution, queryInfos) -> queries.addAll(queryInfos))
+                            .build();
+                }
+            };
+        }
+
+    }
+
+    @BeforeEach
+    public void clearQueries() {
+        queries.clear();
+    }
+
+    @Test
+    void findByIdAndItemOwnerId() {
+        bookingRepository.findByIdAndItemOwnerId(1L, 1L);
+
+        assertUsesIndex();
+    }
+
+    @Test
+    void findAllByStateWhenBookerAndAll() {
+        assertFindAllByStateUsesIndex(BookingRole.BOOKER, State.ALL);
+    }
+
+    @Test
+    void findAllByStateWhenBookerAndCurrent() {
+        assertFindAllByStateUsesIndex(BookingRole.BOOKER, State.CURRENT, "BOOKINGS_BOOKER_ID_START_DATE_IDX");
+    }
+
+    @Test
+    void findAllByStateWhenBookerAndPast() {
+        assertFindAllByStateUsesIndex(BookingRole.BOOKER, State.PAST);
+    }
+
+    @Test
+    void findAllByStateWhenBookerAndFuture() {
+        assertFindAllByStateUsesIndex(BookingRole.BOOKER, State.FUTURE, "BOOKINGS_BOOKER_ID_START_DATE_IDX");
+    }
+
+    @Test
+    void findAllByStateWhenBookerAndStatus() {
+        assertFindAllByStateUsesIndex(BookingRole.BOOKER, State.WAITING);
+    }
+
+    @Test
+    void findAllByStateWhenOwnerAndAll() {
+        assertFindAllByStateUsesIndex(BookingRole.OWNER, State.ALL);
+    }
+
+    @Test
+    void findAllByStateWhenOwnerAndCurrent() {
+        assertFindAllByStateUsesIndex(BookingRole.OWNER, State.CURRENT);
+    }
+
+    @Test
+    void findAllByStateWhenOwnerAndPast() {
+        assertFindAllByStateUsesIndex(BookingRole.OWNER, State.PAST);
+    }
+
+    @Test
+    void findAllByStateWhenOwnerAndFuture() {
+        assertFindAllByStateUsesIndex(BookingRole.OWNER, State.FUTURE);
+    }
+
+    @Test
+    void findAllByStateWhenOwnerAndStatus() {
+        assertFindAllByStateUsesIndex(BookingRole.OWNER, State.REJECTED);
+    }
+
+    @Test
+    void findAllByStateAfterWhenBookerAndAll() {
+        bookingRepository.findAllByStateAfter(BookingRole.BOOKER, 1L, State.ALL, NOW, AFTER, 20);
+
+        assertUsesIndex();
+    }
+
+    @Test
+    void findAllByStateAfterWhenBookerAndCurrent() {
+        bookingRepository.findAllByStateAfter(BookingRole.BOOKER, 1L, State.CURRENT, NOW, AFTER, 20);
+
+        assertUsesIndex("BOOKINGS_BOOKER_ID_START_DATE_IDX");
+    }
+
+    @Test
+    void findAllByStateAfterWhenOwnerAndAll() {
+        bookingRepository.findAllByStateAfter(BookingRole.OWNER, 1L, State.ALL, NOW, AFTER, 20);
+
+        assertUsesIndex();
+    }
+
+    @Test
+    void findAllByStateAfterWhenOwnerAndFuture() {
+        bookingRepository.findAllByStateAfter(BookingRole.OWNER, 1L, State.FUTURE, NOW, AFTER, 20);
+
+        assertUsesIndex();
+    }
+
+    @Test
+    void findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc() {
+        bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(1L, NOW, Status.APPROVED);
+
+        assertUsesIndex("BOOKINGS_ITEM_ID_STATUS_START_DATE_IDX");
+    }
+
+    @Test
+    void findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc() {
+        bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(1L, NOW, Status.APPROVED);
+
+        assertUsesIndex("BOOKINGS_ITEM_ID_STATUS_START_DATE_IDX");
+    }
+
+    @Test
+    void findAllLastByItemIdInAndStatus() {
+        bookingRepository.findAllLastByItemIdInAndStatus(List.of(1L, 2L), NOW, Status.APPROVED);
+
+        assertUsesIndex("BOOKINGS_ITEM_ID_STATUS_START_DATE_IDX");
+    }
+
+    @Test
+    void findAllNextByItemIdInAndStatus() {
+        bookingRepository.findAllNextByItemIdInAndStatus(List.of(1L, 2L), NOW, Status.APPROVED);
+
+        assertUsesIndex("BOOKINGS_ITEM_ID_STATUS_START_DATE_IDX");
+    }
+
+    @Test
+    void findAllByBookerIdAndItemIdAndEndBeforeOrderByStartDesc() {
+        bookingRepository.findAllByBookerIdAndItemIdAndEndBeforeOrderByStartDesc(1L, 1L, NOW);
+
+        assertUsesIndex("BOOKINGS_BOOKER_ID_ITEM_ID_END_DATE_IDX");
+    }
+
+    private void assertFindAllByStateUsesIndex(BookingRole role, State state, String... expectedIndexes) {
+        bookingRepository.findAllByState(role, 1L, state, NOW, PageRequest.of(0, 20));
+
+        assertUsesIndex(expectedIndexes);
+    }
+
+    private void assertUsesIndex(String... expectedIndexes) {
+        assertEquals(1, queries.size(), () -> "Ожидался один запрос: " + queries);
+        QueryInfo query = queries.get(0);
+        String plan = explain(query);
+
+        assertFalse(plan.contains("tableScan"), plan);
+        for (String index : expectedIndexes) {
+            assertTrue(plan.contains(index), plan);
+        }
+    }
+
+    private String explain(QueryInfo query) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + query.getQuery())) {
+                for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+                    Object[] args = operation.getArgs();
+                    if (ParameterSetOperation.isSetNullParameterOperation(operation)) {
+                        statement.setNull((Integer) args[0], (Integer) args[1]);
+                    } else {
+                        statement.setObject((Integer) args[0], args[1]);
+                    }
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+}
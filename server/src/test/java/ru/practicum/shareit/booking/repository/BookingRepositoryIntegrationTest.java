@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,16 +8,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.controller.State;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,6 +44,9 @@ class BookingRepositoryIntegrationTest {
     @Autowired
     BookingRepository bookingRepository;
 
+    @Autowired
+    EntityManager entityManager;
+
     Pageable page = PageRequest.of(0, 20);
     User owner;
     User requestor;
@@ -113,8 +122,9 @@ class BookingRepositoryIntegrationTest {
     }
 
     @Test
-    void findAllByBookerIdOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByBookerIdOrderByStartDesc(booker.getId(), page);
+    void findAllByStateWhenBookerAndAll() {
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.BOOKER, booker.getId(), State.ALL,
+                LocalDateTime.now(), page);
 
         assertEquals(3, actualBookings.size());
         assertEquals(latestBooking.getId(), actualBookings.get(0).getId());
@@ -123,17 +133,32 @@ class BookingRepositoryIntegrationTest {
     }
 
     @Test
-    void findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(booker.getId(),
-                LocalDateTime.now().plusDays(1L), LocalDateTime.now(), page);
+    void findAllByStateWhenInvokedThenItemAndBookerFetched() {
+        bookingRepository.flush();
+        entityManager.clear();
+
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.OWNER, owner.getId(), State.ALL,
+                LocalDateTime.now(), page);
+
+        assertEquals(3, actualBookings.size());
+        actualBookings.forEach(booking -> {
+            assertTrue(Hibernate.isInitialized(booking.getItem()));
+            assertTrue(Hibernate.isInitialized(booking.getBooker()));
+        });
+    }
+
+    @Test
+    void findAllByStateWhenBookerAndCurrent() {
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.BOOKER, booker.getId(), State.CURRENT,
+                LocalDateTime.now().plusHours(12L), page);
 
         assertEquals(1, actualBookings.size());
         assertEquals(earliestBooking.getId(), actualBookings.get(0).getId());
     }
 
     @Test
-    void findAllByBookerIdAndEndBeforeOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(booker.getId(),
+    void findAllByStateWhenBookerAndPast() {
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.BOOKER, booker.getId(), State.PAST,
                 LocalDateTime.now().plusDays(4L), page);
 
         assertEquals(2, actualBookings.size());
@@ -142,8 +167,8 @@ class BookingRepositoryIntegrationTest {
     }
 
     @Test
-    void findAllByBookerIdAndStartAfterOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(booker.getId(),
+    void findAllByStateWhenBookerAndFuture() {
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.BOOKER, booker.getId(), State.FUTURE,
                 LocalDateTime.now().plusDays(1L), page);
 
         assertEquals(2, actualBookings.size());
@@ -152,17 +177,18 @@ class BookingRepositoryIntegrationTest {
     }
 
     @Test
-    void findAllByBookerIdAndStatusOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(booker.getId(),
-                Status.WAITING, page);
+    void findAllByStateWhenBookerAndWaiting() {
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.BOOKER, booker.getId(), State.WAITING,
+                LocalDateTime.now(), page);
 
         assertEquals(1, actualBookings.size());
         assertEquals(earliestBooking.getId(), actualBookings.get(0).getId());
     }
 
     @Test
-    void findAllByItemOwnerIdOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(owner.getId(), page);
+    void findAllByStateWhenOwnerAndAll() {
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.OWNER, owner.getId(), State.ALL,
+                LocalDateTime.now(), page);
 
         assertEquals(3, actualBookings.size());
         assertEquals(latestBooking.getId(), actualBookings.get(0).getId());
@@ -172,17 +198,17 @@ class BookingRepositoryIntegrationTest {
     }
 
     @Test
-    void findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(owner.getId(),
-                LocalDateTime.now().plusDays(1L), LocalDateTime.now(), page);
+    void findAllByStateWhenOwnerAndCurrent() {
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.OWNER, owner.getId(), State.CURRENT,
+                LocalDateTime.now().plusHours(12L), page);
 
         assertEquals(1, actualBookings.size());
         assertEquals(earliestBooking.getId(), actualBookings.get(0).getId());
     }
 
     @Test
-    void findAllByItemOwnerIdAndEndBeforeOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(owner.getId(),
+    void findAllByStateWhenOwnerAndPast() {
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.OWNER, owner.getId(), State.PAST,
                 LocalDateTime.now().plusDays(4L), page);
 
         assertEquals(2, actualBookings.size());
@@ -191,8 +217,8 @@ class BookingRepositoryIntegrationTest {
     }
 
     @Test
-    void findAllByItemOwnerIdAndStartAfterOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(owner.getId(),
+    void findAllByStateWhenOwnerAndFuture() {
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.OWNER, owner.getId(), State.FUTURE,
                 LocalDateTime.now().plusDays(1L), page);
 
         assertEquals(2, actualBookings.size());
@@ -201,9 +227,9 @@ class BookingRepositoryIntegrationTest {
     }
 
     @Test
-    void findAllByItemOwnerIdAndStatusOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(owner.getId(),
-                Status.WAITING, page);
+    void findAllByStateWhenOwnerAndWaiting() {
+        List<Booking> actualBookings = bookingRepository.findAllByState(BookingRole.OWNER, owner.getId(), State.WAITING,
+                LocalDateTime.now(), page);
 
         assertEquals(1, actualBookings.size());
         assertEquals(earliestBooking.getId(), actualBookings.get(0).getId());
@@ -227,6 +253,77 @@ class BookingRepositoryIntegrationTest {
         assertEquals(earliestBooking.getId(), booking.get().getId());
     }
 
+    @Test
+    void findAllByStateAfterWhenBooker() {
+        List<Booking> firstPage = bookingRepository.findAllByStateAfter(BookingRole.BOOKER, booker.getId(), State.ALL,
+                LocalDateTime.now(), null, 2);
+        Booking last = firstPage.get(firstPage.size() - 1);
+        List<Booking> secondPage = bookingRepository.findAllByStateAfter(BookingRole.BOOKER, booker.getId(), State.ALL,
+                LocalDateTime.now(), cursorOf(last), 2);
+
+        assertEquals(2, firstPage.size());
+        assertEquals(latestBooking.getId(), firstPage.get(0).getId());
+        assertEquals(mediumBooking.getId(), firstPage.get(1).getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(earliestBooking.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void findAllByStateAfterWhenBookerWhenSameStartThenOrderedById() {
+        mediumBooking.setStart(mediumBooking.getStart().truncatedTo(ChronoUnit.SECONDS));
+        bookingRepository.save(mediumBooking);
+        Booking twinBooking = new Booking();
+        twinBooking.setStart(mediumBooking.getStart());
+        twinBooking.setEnd(mediumBooking.getEnd());
+        twinBooking.setItem(item1);
+        twinBooking.setBooker(booker);
+        twinBooking.setStatus(Status.WAITING);
+        bookingRepository.save(twinBooking);
+
+        List<Booking> actualBookings = bookingRepository.findAllByStateAfter(BookingRole.BOOKER, booker.getId(), State.ALL,
+                LocalDateTime.now(), cursorOf(twinBooking), 20);
+
+        assertEquals(2, actualBookings.size());
+        assertEquals(mediumBooking.getId(), actualBookings.get(0).getId());
+        assertEquals(earliestBooking.getId(), actualBookings.get(1).getId());
+    }
+
+    @Test
+    void findAllByStateAfterWhenOwner() {
+        List<Booking> actualBookings = bookingRepository.findAllByStateAfter(BookingRole.OWNER, owner.getId(), State.FUTURE,
+                LocalDateTime.now().plusDays(1L), cursorOf(latestBooking), 20);
+
+        assertEquals(1, actualBookings.size());
+        assertEquals(mediumBooking.getId(), actualBookings.get(0).getId());
+    }
+
+    @Test
+    void findAllByStateAfterWhenOwnerWhenStateIsWaitingThenReturnedWaitingBookings() {
+        List<Booking> actualBookings = bookingRepository.findAllByStateAfter(BookingRole.OWNER, owner.getId(), State.WAITING,
+                LocalDateTime.now(), null, 20);
+
+        assertEquals(1, actualBookings.size());
+        assertEquals(earliestBooking.getId(), actualBookings.get(0).getId());
+    }
+
+    @Test
+    void findAllLastByItemIdInAndStatus() {
+        List<Booking> actualBookings = bookingRepository.findAllLastByItemIdInAndStatus(List.of(item1.getId()),
+                LocalDateTime.now().plusDays(20), Status.APPROVED);
+
+        assertEquals(1, actualBookings.size());
+        assertEquals(mediumBooking.getId(), actualBookings.get(0).getId());
+    }
+
+    @Test
+    void findAllNextByItemIdInAndStatus() {
+        List<Booking> actualBookings = bookingRepository.findAllNextByItemIdInAndStatus(List.of(item1.getId()),
+                LocalDateTime.now().minusDays(20), Status.WAITING);
+
+        assertEquals(1, actualBookings.size());
+        assertEquals(earliestBooking.getId(), actualBookings.get(0).getId());
+    }
+
     @Test
     void findAllByBookerIdAndItemIdAndEndBeforeOrderByStartDesc() {
         List<Booking> actualBookings = bookingRepository.findAllByBookerIdAndItemIdAndEndBeforeOrderByStartDesc(booker.getId(),
@@ -238,12 +335,16 @@ class BookingRepositoryIntegrationTest {
         assertEquals(earliestBooking.getId(), actualBookings.get(2).getId());
     }
 
+    private static Cursor cursorOf(Booking booking) {
+        return new Cursor(booking.getStart().truncatedTo(ChronoUnit.MICROS), booking.getId());
+    }
+
     @AfterEach
     public void deleteItems() {
-        userRepository.deleteAll();
-        itemRequestRepository.deleteAll();
-        itemRepository.deleteAll();
         bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
     }
 
 }
\ No newline at end of file
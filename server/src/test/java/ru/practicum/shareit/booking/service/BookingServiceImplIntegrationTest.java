@@ -1,11 +1,16 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.controller.State;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoForResponse;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -13,13 +18,19 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static ru.practicum.shareit.EntityFixtures.persistBooking;
+import static ru.practicum.shareit.EntityFixtures.persistItem;
+import static ru.practicum.shareit.EntityFixtures.persistUser;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class BookingServiceImplIntegrationTest {
 
@@ -65,4 +76,71 @@ class BookingServiceImplIntegrationTest {
         assertThat(booking.getEnd(), equalTo(bookingDto.getEnd()));
     }
 
-}
\ No newline at end of file
+    @Test
+    void getAllByOwnerWhenPageOfTwentyThenAtMostTwoStatements() {
+        User owner = persistUser(em, "owner");
+        User booker = persistUser(em, "booker");
+        for (int i = 0; i < 20; i++) {
+            Item item = persistItem(em, "name" + i, owner);
+            LocalDateTime start = LocalDateTime.now().plusDays(i + 1L);
+            persistBooking(em, item, booker, start, start.plusHours(1L), Status.WAITING);
+        }
+        em.flush();
+        em.clear();
+        Statistics statistics = getStatistics();
+
+        List<BookingDtoForResponse> bookings = service.getAllByOwner(owner.getId(), State.ALL, 0, 20);
+
+        assertThat(bookings, hasSize(20));
+        bookings.forEach(booking -> {
+            assertThat(booking.getItem().getName(), notNullValue());
+            assertThat(booking.getBooker().getName(), equalTo("booker"));
+        });
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(2L));
+    }
+
+    @Test
+    void getAllByBookerWhenPageOfTwentyThenAtMostTwoStatements() {
+        User owner = persistUser(em, "owner");
+        User booker = persistUser(em, "booker");
+        for (int i = 0; i < 20; i++) {
+            Item item = persistItem(em, "name" + i, owner);
+            LocalDateTime start = LocalDateTime.now().plusDays(i + 1L);
+            persistBooking(em, item, booker, start, start.plusHours(1L), Status.WAITING);
+        }
+        em.flush();
+        em.clear();
+        Statistics statistics = getStatistics();
+
+        List<BookingDtoForResponse> bookings = service.getAllByBooker(booker.getId(), State.ALL, 0, 20);
+
+        assertThat(bookings, hasSize(20));
+        bookings.forEach(booking -> assertThat(booking.getItem().getName(), notNullValue()));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(2L));
+    }
+
+    @Test
+    void getByIdThenSingleStatement() {
+        User owner = persistUser(em, "owner");
+        User booker = persistUser(em, "booker");
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        Booking booking = persistBooking(em, persistItem(em, "name1", owner), booker, start, start.plusHours(1L),
+                Status.WAITING);
+        em.flush();
+        em.clear();
+        Statistics statistics = getStatistics();
+
+        BookingDtoForResponse bookingDto = service.getById(owner.getId(), booking.getId());
+
+        assertThat(bookingDto.getItem().getName(), equalTo("name1"));
+        assertThat(bookingDto.getBooker().getName(), equalTo("booker"));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    private Statistics getStatistics() {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+}
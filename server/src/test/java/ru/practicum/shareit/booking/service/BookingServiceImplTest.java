@@ -12,6 +12,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForResponse;
 import ru.practicum.shareit.booking.dto.BookingDtoMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BookingAlreadyApprovedException;
@@ -19,6 +20,7 @@ import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.ItemNotAvailableException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.pagination.CustomPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -26,6 +28,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -119,6 +122,30 @@ class BookingServiceImplTest {
         verify(bookingRepository).save(Mockito.any(Booking.class));
     }
 
+    @Test
+    void createAllWhenItemsFoundAndAvailableAndNotOwnerThenSavedBookingsInOneCall() {
+        Mockito.when(itemRepository.findAllById(Set.of(item.getId()))).thenReturn(List.of(item));
+        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+        Mockito.when(bookingRepository.saveAll(Mockito.anyList())).thenReturn(List.of(expectedBooking, expectedBooking));
+
+        List<BookingDtoForResponse> bookings = bookingService.createAll(userId,
+                List.of(requestBookingDto, requestBookingDto));
+
+        assertEquals(List.of(expectedBookingDto, expectedBookingDto), bookings);
+        verify(itemRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    void createAllWhenBookerIsOwnerThenNotSavedBookings() {
+        item.setOwner(booker);
+        Mockito.when(itemRepository.findAllById(Set.of(item.getId()))).thenReturn(List.of(item));
+        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(booker));
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.createAll(userId, List.of(requestBookingDto)));
+
+        verify(bookingRepository, Mockito.never()).saveAll(Mockito.anyList());
+    }
+
     @Test
     void createWhenItemNotFoundThenNotSavedBooking() {
         Mockito.when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.empty());
@@ -257,7 +284,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByBookerIdOrderByStartDesc(userId, page)).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.eq(userId),
+                Mockito.eq(State.ALL), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByBooker(userId, State.ALL, from, size);
 
@@ -271,8 +300,8 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Mockito.anyLong(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.eq(userId),
+                Mockito.eq(State.CURRENT), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
                 .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByBooker(userId, State.CURRENT, from, size);
@@ -287,8 +316,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(Mockito.anyLong(),
-                Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.eq(userId),
+                Mockito.eq(State.PAST), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByBooker(userId, State.PAST, from, size);
 
@@ -302,8 +332,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(Mockito.anyLong(),
-                Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.eq(userId),
+                Mockito.eq(State.FUTURE), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByBooker(userId, State.FUTURE, from, size);
 
@@ -317,8 +348,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(Mockito.anyLong(),
-                Mockito.any(Status.class), Mockito.any(Pageable.class))).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.eq(userId),
+                Mockito.eq(State.WAITING), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByBooker(userId, State.WAITING, from, size);
 
@@ -332,8 +364,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(Mockito.anyLong(),
-                Mockito.any(Status.class), Mockito.any(Pageable.class))).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.BOOKER), Mockito.eq(userId),
+                Mockito.eq(State.REJECTED), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByBooker(userId, State.REJECTED, from, size);
 
@@ -341,6 +374,58 @@ class BookingServiceImplTest {
     }
 
 
+    @Test
+    void getAllByBookerAfterCursorWhenBookerFoundThenReturnedListOfBookings() {
+        Cursor after = new Cursor(LocalDateTime.now(), 10L);
+        List<Booking> expectedBookings = List.of(pastBooking);
+        expectedBookings.forEach(booking -> booking.setBooker(new User()));
+        expectedBookings.forEach(booking -> booking.setItem(new Item()));
+        List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
+        Mockito.when(userRepository.existsById(userId)).thenReturn(true);
+        Mockito.when(bookingRepository.findAllByStateAfter(Mockito.eq(BookingRole.BOOKER), Mockito.eq(userId),
+                Mockito.eq(State.PAST), Mockito.any(LocalDateTime.class), Mockito.eq(after), Mockito.eq(size)))
+                .thenReturn(expectedBookings);
+
+        List<BookingDtoForResponse> bookings = bookingService.getAllByBooker(userId, State.PAST, after, size);
+
+        assertEquals(expectedBookingsDto, bookings);
+    }
+
+    @Test
+    void getAllByBookerAfterCursorWhenBookerNotFoundThenNotReturnedListOfBookings() {
+        Cursor after = new Cursor(LocalDateTime.now(), 10L);
+        Mockito.when(userRepository.existsById(userId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.getAllByBooker(userId, State.ALL, after,
+                size));
+    }
+
+    @Test
+    void getAllByOwnerAfterCursorWhenOwnerFoundThenReturnedListOfBookings() {
+        Cursor after = new Cursor(LocalDateTime.now(), 10L);
+        List<Booking> expectedBookings = List.of(futureBooking);
+        expectedBookings.forEach(booking -> booking.setBooker(new User()));
+        expectedBookings.forEach(booking -> booking.setItem(new Item()));
+        List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
+        Mockito.when(userRepository.existsById(userId)).thenReturn(true);
+        Mockito.when(bookingRepository.findAllByStateAfter(Mockito.eq(BookingRole.OWNER), Mockito.eq(userId),
+                Mockito.eq(State.FUTURE), Mockito.any(LocalDateTime.class), Mockito.eq(after), Mockito.eq(size)))
+                .thenReturn(expectedBookings);
+
+        List<BookingDtoForResponse> bookings = bookingService.getAllByOwner(userId, State.FUTURE, after, size);
+
+        assertEquals(expectedBookingsDto, bookings);
+    }
+
+    @Test
+    void getAllByOwnerAfterCursorWhenOwnerNotFoundThenNotReturnedListOfBookings() {
+        Cursor after = new Cursor(LocalDateTime.now(), 10L);
+        Mockito.when(userRepository.existsById(userId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.getAllByOwner(userId, State.ALL, after,
+                size));
+    }
+
     @Test
     void getAllByOwnerWhenOwnerNotFoundThenNotReturnedListOfBookings() {
         Mockito.when(userRepository.existsById(userId)).thenReturn(false);
@@ -355,7 +440,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId, page)).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.eq(userId),
+                Mockito.eq(State.ALL), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByOwner(userId, State.ALL, from, size);
 
@@ -369,8 +456,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Mockito.anyLong(),
-                Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.eq(userId),
+                Mockito.eq(State.CURRENT), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByOwner(userId, State.CURRENT, from, size);
 
@@ -384,8 +472,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Mockito.anyLong(),
-                Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.eq(userId),
+                Mockito.eq(State.PAST), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByOwner(userId, State.PAST, from, size);
 
@@ -399,8 +488,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Mockito.anyLong(),
-                Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.eq(userId),
+                Mockito.eq(State.FUTURE), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByOwner(userId, State.FUTURE, from, size);
 
@@ -414,8 +504,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(Mockito.anyLong(),
-                Mockito.any(Status.class), Mockito.any(Pageable.class))).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.eq(userId),
+                Mockito.eq(State.WAITING), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByOwner(userId, State.WAITING, from, size);
 
@@ -429,8 +520,9 @@ class BookingServiceImplTest {
         expectedBookings.forEach(booking -> booking.setItem(new Item()));
         List<BookingDtoForResponse> expectedBookingsDto = mapper.bookingToDto(expectedBookings);
         Mockito.when(userRepository.existsById(userId)).thenReturn(true);
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(Mockito.anyLong(),
-                Mockito.any(Status.class), Mockito.any(Pageable.class))).thenReturn(expectedBookings);
+        Mockito.when(bookingRepository.findAllByState(Mockito.eq(BookingRole.OWNER), Mockito.eq(userId),
+                Mockito.eq(State.REJECTED), Mockito.any(LocalDateTime.class), Mockito.eq(page)))
+                .thenReturn(expectedBookings);
 
         List<BookingDtoForResponse> bookings = bookingService.getAllByOwner(userId, State.REJECTED, from, size);
 
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import ru.practicum.shareit.booking.dto.BookingDtoForItem;
+import ru.practicum.shareit.booking.dto.BookingDtoForResponse;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JsonTest
+@Import(WireFormatConfig.class)
+@Slf4j
+class WireFormatBenchmarkTest {
+
+    private static final int LIST_SIZE = 1000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 100;
+
+    @Autowired
+    ObjectMapper jsonMapper;
+
+    @Autowired
+    MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Test
+    void compareFormatsForBookingList() throws Exception {
+        List<BookingDtoForResponse> bookings = bookings();
+
+        byte[] json = benchmark("json", "BookingDtoForResponse", jsonMapper, bookings);
+        byte[] smile = benchmark("smile", "BookingDtoForResponse", smileConverter.getObjectMapper(), bookings);
+        byte[] cbor = benchmark("cbor", "BookingDtoForResponse", cborConverter.getObjectMapper(), bookings);
+
+        assertTrue(smile.length < json.length);
+        assertTrue(cbor.length < json.length);
+        assertEquals(bookings, smileConverter.getObjectMapper().readValue(smile,
+                new TypeReference<List<BookingDtoForResponse>>() {
+                }));
+        assertEquals(bookings, cborConverter.getObjectMapper().readValue(cbor,
+                new TypeReference<List<BookingDtoForResponse>>() {
+                }));
+    }
+
+    @Test
+    void compareFormatsForItemList() throws Exception {
+        List<ItemDto> items = items();
+
+        byte[] json = benchmark("json", "ItemDto", jsonMapper, items);
+        byte[] smile = benchmark("smile", "ItemDto", smileConverter.getObjectMapper(), items);
+        byte[] cbor = benchmark("cbor", "ItemDto", cborConverter.getObjectMapper(), items);
+
+        assertTrue(smile.length < json.length);
+        assertTrue(cbor.length < json.length);
+        assertEquals(items, smileConverter.getObjectMapper().readValue(smile, new TypeReference<List<ItemDto>>() {
+        }));
+        assertEquals(items, cborConverter.getObjectMapper().readValue(cbor, new TypeReference<List<ItemDto>>() {
+        }));
+    }
+
+    private byte[] benchmark(String format, String type, ObjectMapper mapper, List<?> values) throws Exception {
+        byte[] payload = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            payload = mapper.writeValueAsBytes(values);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            payload = mapper.writeValueAsBytes(values);
+        }
+        long writeNanos = (System.nanoTime() - start) / MEASURED_ROUNDS;
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            mapper.readTree(payload);
+        }
+        long readNanos = (System.nanoTime() - start) / MEASURED_ROUNDS;
+        log.info("{} x{} {}: {} bytes, write {} us, read {} us", type, values.size(), format, payload.length,
+                writeNanos / 1000, readNanos / 1000);
+        return payload;
+    }
+
+    private static List<BookingDtoForResponse> bookings() {
+        List<BookingDtoForResponse> bookings = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (long i = 1; i <= LIST_SIZE; i++) {
+            UserDto booker = new UserDto();
+            booker.setId(i % 50);
+            booker.setName("booker" + i % 50);
+            booker.setEmail("booker" + i % 50 + "@yandex.ru");
+            BookingDtoForResponse booking = new BookingDtoForResponse();
+            booking.setId(i);
+            booking.setStart(start.plusHours(i));
+            booking.setEnd(start.plusHours(i + 2));
+            booking.setBooker(booker);
+            booking.setItem(item(i % 100));
+            booking.setStatus(Status.APPROVED);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private static List<ItemDto> items() {
+        List<ItemDto> items = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (long i = 1; i <= LIST_SIZE; i++) {
+            ItemDto item = item(i);
+            BookingDtoForItem lastBooking = new BookingDtoForItem();
+            lastBooking.setId(i);
+            lastBooking.setStart(start.minusDays(2));
+            lastBooking.setEnd(start.minusDays(1));
+            lastBooking.setBookerId(i % 50);
+            lastBooking.setStatus(Status.APPROVED);
+            item.setLastBooking(lastBooking);
+            CommentDto comment = new CommentDto();
+            comment.setId(i);
+            comment.setText("comment" + i);
+            comment.setAuthorName("booker" + i % 50);
+            comment.setCreated(start.minusHours(i));
+            item.setComments(List.of(comment));
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static ItemDto item(long id) {
+        ItemDto item = new ItemDto();
+        item.setId(id);
+        item.setName("item" + id);
+        item.setDescription("description of item " + id);
+        item.setAvailable(true);
+        item.setRequestId(id % 10 == 0 ? id / 10 : null);
+        return item;
+    }
+
+}
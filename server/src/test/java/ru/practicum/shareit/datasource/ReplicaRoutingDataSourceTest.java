@@ -0,0 +1,89 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    public void createDataSource() {
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    public void clearTransaction() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void getConnectionWhenReadWriteTransactionThenPrimary() throws SQLException {
+        Mockito.when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void getConnectionWhenReadOnlyTransactionThenReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Mockito.when(replica.getConnection()).thenReturn(replicaConnection);
+
+        assertSame(replicaConnection, dataSource.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void getConnectionWhenReadOnlyAndPinnedToPrimaryThenPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadYourWrites.pinToPrimary();
+        Mockito.when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void getConnectionWhenReplicaDownThenPrimaryUntilRetry() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Mockito.when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        Mockito.when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(replica, times(1)).getConnection();
+    }
+
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.booking.controller.BookingController.HEADER;
+import static ru.practicum.shareit.datasource.ReadYourWritesFilter.READ_YOUR_WRITES_HEADER;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary",
+        "shareit.datasource.replicas.enabled=true",
+        "shareit.datasource.replicas.urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    @SneakyThrows
+    static void createReplica() {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "test", "test");
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+            statement.execute("insert into users (id, name, email) values (1000, 'replica', 'replica@yandex.ru')");
+        }
+    }
+
+    @Test
+    void getAllWhenReadOnlyThenReadFromReplica() {
+        UserDto userDto = new UserDto();
+        userDto.setName("primary");
+        userDto.setEmail("primary@yandex.ru");
+        userService.create(userDto);
+
+        List<UserDto> users = userService.getAll();
+
+        assertEquals(1, users.size());
+        assertEquals("replica", users.get(0).getName());
+    }
+
+    @Test
+    @SneakyThrows
+    void getByIdWhenReadYourWritesHeaderThenReadFromPrimary() {
+        UserDto userDto = new UserDto();
+        userDto.setName("owner");
+        userDto.setEmail("owner@yandex.ru");
+        Long ownerId = userService.create(userDto).getId();
+
+        mockMvc.perform(post("/items")
+                        .header(HEADER, ownerId)
+                        .contentType("application/json")
+                        .content("{\"name\":\"drill\",\"description\":\"drill\",\"available\":true}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/users/{id}", ownerId)
+                        .header(HEADER, ownerId)
+                        .header(READ_YOUR_WRITES_HEADER, "primary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("owner"));
+        mockMvc.perform(get("/users/{id}", ownerId).header(HEADER, ownerId))
+                .andExpect(status().isNotFound());
+    }
+
+}
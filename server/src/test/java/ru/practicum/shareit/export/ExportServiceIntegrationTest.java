@@ -0,0 +1,108 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.EntityFixtures.persistBooking;
+import static ru.practicum.shareit.EntityFixtures.persistItem;
+import static ru.practicum.shareit.EntityFixtures.persistUser;
+
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ExportServiceIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private final EntityManager em;
+    private final ExportService service;
+    private final ObjectMapper objectMapper;
+
+    @Test
+    void exportItemsByOwnerWhenNdjsonThenRowPerBookingFromOneQuery() throws Exception {
+        User owner = persistUser(em, "owner");
+        User booker = persistUser(em, "booker");
+        Item booked = persistItem(em, "booked", owner);
+        Item free = persistItem(em, "free", owner);
+        Booking later = persistBooking(em, booked, booker, START.plusDays(2), START.plusDays(3),
+                Status.APPROVED);
+        Booking earlier = persistBooking(em, booked, booker, START, START.plusDays(1), Status.APPROVED);
+        em.flush();
+        em.clear();
+        Statistics statistics = getStatistics();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportItemsByOwner(owner.getId(), ExportFormat.NDJSON, format -> out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines, arrayWithSize(3));
+        ItemBookingExportRow first = objectMapper.readValue(lines[0], ItemBookingExportRow.class);
+        assertThat(first.getItemId(), equalTo(booked.getId()));
+        assertThat(first.getBookingId(), equalTo(earlier.getId()));
+        assertThat(first.getBookerId(), equalTo(booker.getId()));
+        assertThat(objectMapper.readValue(lines[1], ItemBookingExportRow.class).getBookingId(),
+                equalTo(later.getId()));
+        ItemBookingExportRow last = objectMapper.readValue(lines[2], ItemBookingExportRow.class);
+        assertThat(last.getItemId(), equalTo(free.getId()));
+        assertThat(last.getBookingId(), nullValue());
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void exportBookingsByBookerWhenCsvThenHeaderAndNewestFirst() throws Exception {
+        User owner = persistUser(em, "owner");
+        User booker = persistUser(em, "booker");
+        Item item = persistItem(em, "item", owner);
+        Booking earlier = persistBooking(em, item, booker, START, START.plusDays(1), Status.APPROVED);
+        Booking later = persistBooking(em, item, booker, START.plusDays(2), START.plusDays(3),
+                Status.APPROVED);
+        em.flush();
+        em.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportBookingsByBooker(booker.getId(), ExportFormat.CSV, format -> out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines, arrayWithSize(3));
+        assertThat(lines[0], equalTo("id,start,end,status,itemId,itemName,ownerId"));
+        assertThat(lines[1], equalTo(later.getId() + ",2030-01-03T12:00:00,2030-01-04T12:00:00,APPROVED,"
+                + item.getId() + ",item," + owner.getId()));
+        assertThat(lines[2].split(",")[0], equalTo(String.valueOf(earlier.getId())));
+    }
+
+    @Test
+    void exportBookingsByBookerWhenUserNotFoundThenNothingWritten() {
+        assertThrows(EntityNotFoundException.class, () -> service.exportBookingsByBooker(999L, ExportFormat.CSV,
+                format -> {
+                    throw new AssertionError("Выгрузка не должна начинаться");
+                }));
+    }
+
+    private Statistics getStatistics() {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+}
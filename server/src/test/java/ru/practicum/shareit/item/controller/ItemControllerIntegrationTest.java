@@ -9,8 +9,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.export.ExportService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemBulkImporter;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.util.List;
@@ -30,6 +32,12 @@ class ItemControllerIntegrationTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemBulkImporter itemBulkImporter;
+
+    @MockBean
+    private ExportService exportService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -78,6 +86,18 @@ class ItemControllerIntegrationTest {
         verify(itemService, Mockito.never()).create(Mockito.anyLong(), Mockito.any(ItemDto.class));
     }
 
+    @SneakyThrows
+    @Test
+    void importItemsWhenInvokedThenDelegatedToImporter() {
+        mockMvc.perform(post("/items/bulk")
+                        .header(HEADER, 1L)
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(itemDto) + "\n"))
+                .andExpect(status().isOk());
+
+        verify(itemBulkImporter).importItems(Mockito.eq(1L), Mockito.any(), Mockito.any());
+    }
+
     @SneakyThrows
     @Test
     void getAllByOwnerWhenInvokedThenReturnedListOfItems() {
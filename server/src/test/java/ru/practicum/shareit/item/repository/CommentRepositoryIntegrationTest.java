@@ -105,6 +105,17 @@ class CommentRepositoryIntegrationTest {
         assertEquals("comment1", actualComments.get(0).getText());
     }
 
+    @Test
+    void findAllByItemIdIn() {
+        List<Comment> actualComments = commentRepository.findAllByItemIdIn(List.of(item1.getId(), item2.getId()));
+
+        assertEquals(2, actualComments.size());
+        assertEquals("comment1", actualComments.get(0).getText());
+        assertEquals("name1", actualComments.get(0).getAuthor().getName());
+        assertEquals("comment2", actualComments.get(1).getText());
+        assertEquals("name2", actualComments.get(1).getAuthor().getName());
+    }
+
     @AfterEach
     public void deleteComments() {
         userRepository.deleteAll();
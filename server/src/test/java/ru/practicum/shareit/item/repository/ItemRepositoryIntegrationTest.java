@@ -96,6 +96,17 @@ class ItemRepositoryIntegrationTest {
         assertEquals("name2", actualItems.get(1).getName());
     }
 
+    @Test
+    void findAllAvailableByTextWhenFragmentInAnyCaseThenFoundBySubstring() {
+        item2.setAvailable(false);
+        itemRepository.save(item2);
+
+        List<Item> actualItems = itemRepository.findAllAvailableByText("ScRiPtIoN", page);
+
+        assertEquals(1, actualItems.size());
+        assertEquals("name1", actualItems.get(0).getName());
+    }
+
     @Test
     void findAllByRequestIdOrderByIdAsc() {
         List<Item> actualItems = itemRepository.findAllByRequestIdOrderByIdAsc(request1.getId());
@@ -104,6 +115,16 @@ class ItemRepositoryIntegrationTest {
         assertEquals("name1", actualItems.get(0).getName());
     }
 
+    @Test
+    void findAllByRequestIdInOrderByIdAsc() {
+        List<Item> actualItems = itemRepository.findAllByRequestIdInOrderByIdAsc(List.of(request1.getId(),
+                request2.getId()));
+
+        assertEquals(2, actualItems.size());
+        assertEquals("name1", actualItems.get(0).getName());
+        assertEquals("name2", actualItems.get(1).getName());
+    }
+
     @AfterEach
     public void deleteItems() {
         userRepository.deleteAll();
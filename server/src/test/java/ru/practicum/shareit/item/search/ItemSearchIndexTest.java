@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemSearchIndex itemSearchIndex;
+
+    private Item drill;
+    private Item screwdriver;
+    private Item hammer;
+
+    @BeforeEach
+    public void addItems() {
+        ReflectionTestUtils.setField(itemSearchIndex, "searchMode", SearchMode.IN_MEMORY);
+
+        drill = createItem(1L, "Дрель", "Простая дрель", true);
+        screwdriver = createItem(2L, "Отвертка", "Аккумуляторная отвертка", true);
+        hammer = createItem(3L, "Молоток", "Молоток для гвоздей", false);
+
+        Mockito.when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(drill, screwdriver));
+        itemSearchIndex.build();
+    }
+
+    @Test
+    void searchWhenFragmentInAnyCaseThenFoundBySubstring() {
+        assertEquals(List.of(1L), itemSearchIndex.search("дРелЬ", 0, 20));
+        assertEquals(List.of(2L), itemSearchIndex.search("аккУМУляторная", 0, 20));
+        assertEquals(List.of(2L), itemSearchIndex.search("оТверТ", 0, 20));
+        assertEquals(List.of(2L), itemSearchIndex.search("ертк", 0, 20));
+    }
+
+    @Test
+    void searchWhenShortTextThenFoundByScan() {
+        assertEquals(List.of(1L, 2L), itemSearchIndex.search("р", 0, 20));
+    }
+
+    @Test
+    void searchWhenOffsetAndLimitThenReturnedPage() {
+        assertEquals(List.of(2L), itemSearchIndex.search("р", 1, 1));
+        assertEquals(List.of(1L), itemSearchIndex.search("р", 0, 1));
+    }
+
+    @Test
+    void searchWhenTextNotInAnyItemThenNotFound() {
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("дрельотвертка", 0, 20));
+    }
+
+    @Test
+    void indexWhenItemNotAvailableThenNotFound() {
+        itemSearchIndex.index(hammer);
+
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("молот", 0, 20));
+    }
+
+    @Test
+    void indexWhenItemUpdatedThenFoundByNewText() {
+        drill.setName("Перфоратор");
+        drill.setDescription("Мощный перфоратор");
+        itemSearchIndex.index(drill);
+
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("дрель", 0, 20));
+        assertEquals(List.of(1L), itemSearchIndex.search("перфо", 0, 20));
+    }
+
+    @Test
+    void indexWhenItemBecameUnavailableThenNotFound() {
+        drill.setAvailable(false);
+        itemSearchIndex.index(drill);
+
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("дрель", 0, 20));
+    }
+
+    @Test
+    void removeWhenItemDeletedThenNotFound() {
+        itemSearchIndex.remove(2L);
+
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("отвертка", 0, 20));
+        assertEquals(List.of(1L), itemSearchIndex.search("р", 0, 20));
+    }
+
+    @Test
+    void indexWhenInTransactionThenAppliedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.index(createItem(4L, "Пила", "Ручная пила", true));
+            itemSearchIndex.remove(1L);
+
+            assertEquals(Collections.emptyList(), itemSearchIndex.search("пила", 0, 20));
+            assertEquals(List.of(1L), itemSearchIndex.search("дрель", 0, 20));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(4L), itemSearchIndex.search("пила", 0, 20));
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("дрель", 0, 20));
+    }
+
+    @Test
+    void indexWhenTransactionRolledBackThenNotApplied() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearchIndex.index(createItem(4L, "Пила", "Ручная пила", true));
+            itemSearchIndex.remove(1L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("пила", 0, 20));
+        assertEquals(List.of(1L), itemSearchIndex.search("дрель", 0, 20));
+    }
+
+    @Test
+    void indexWhenDisabledThenIgnored() {
+        ReflectionTestUtils.setField(itemSearchIndex, "searchMode", SearchMode.LIKE);
+        itemSearchIndex.index(createItem(4L, "Пила", "Ручная пила", true));
+        ReflectionTestUtils.setField(itemSearchIndex, "searchMode", SearchMode.IN_MEMORY);
+
+        assertEquals(Collections.emptyList(), itemSearchIndex.search("пила", 0, 20));
+    }
+
+    private static Item createItem(Long id, String name, String description, Boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+
+}
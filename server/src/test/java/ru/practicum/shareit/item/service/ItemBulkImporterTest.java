@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBulkImporterTest {
+
+    private static final String ITEM = "{\"name\":\"name\",\"description\":\"description\",\"available\":true}";
+
+    @Mock
+    private ItemService itemService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ItemBulkImporter importer;
+    private final Long userId = 1L;
+
+    @BeforeEach
+    public void createImporter() {
+        importer = new ItemBulkImporter(itemService, objectMapper);
+        ReflectionTestUtils.setField(importer, "batchSize", 2);
+    }
+
+    @Test
+    void importItemsWhenLinesValidThenSavedInBatches() throws Exception {
+        Mockito.when(itemService.createAll(Mockito.eq(userId), Mockito.anyList()))
+                .thenReturn(List.of(item(1L), item(2L)), List.of(item(3L)));
+
+        List<ItemImportResult> results = importItems(ITEM + "\n" + ITEM + "\n" + ITEM + "\n");
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, results.get(i).getLine());
+            assertEquals(201, results.get(i).getStatus());
+            assertEquals(i + 1, results.get(i).getId());
+        }
+        verify(itemService, Mockito.times(2)).createAll(Mockito.eq(userId), Mockito.anyList());
+    }
+
+    @Test
+    void importItemsWhenLineIsNotJsonThenLineFailedAndOthersSaved() throws Exception {
+        Mockito.when(itemService.createAll(Mockito.eq(userId), Mockito.anyList())).thenReturn(List.of(item(1L)));
+
+        List<ItemImportResult> results = importItems("not json\n\n" + ITEM + "\n");
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getLine());
+        assertEquals(400, results.get(0).getStatus());
+        assertNull(results.get(0).getId());
+        assertEquals(3, results.get(1).getLine());
+        assertEquals(201, results.get(1).getStatus());
+    }
+
+    @Test
+    void importItemsWhenBatchFailsThenSavedLineByLine() throws Exception {
+        Mockito.when(itemService.createAll(Mockito.eq(userId), Mockito.anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        Mockito.when(itemService.create(Mockito.eq(userId), Mockito.any(ItemDto.class)))
+                .thenReturn(item(1L))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        List<ItemImportResult> results = importItems(ITEM + "\n" + ITEM + "\n");
+
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(1, results.get(0).getId());
+        assertEquals(400, results.get(1).getStatus());
+    }
+
+    @Test
+    void importItemsWhenOwnerNotFoundThenAllLinesFailed() throws Exception {
+        Mockito.when(itemService.createAll(Mockito.eq(userId), Mockito.anyList()))
+                .thenThrow(new EntityNotFoundException("Пользователь с id 1 не найден"));
+
+        List<ItemImportResult> results = importItems(ITEM + "\n" + ITEM + "\n" + ITEM + "\n");
+
+        assertEquals(3, results.size());
+        results.forEach(result -> assertEquals(404, result.getStatus()));
+        verify(itemService, Mockito.never()).create(Mockito.anyLong(), Mockito.any(ItemDto.class));
+    }
+
+    private List<ItemImportResult> importItems(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importer.importItems(userId, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        List<ItemImportResult> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, ItemImportResult.class));
+        }
+        return results;
+    }
+
+    private static ItemDto item(Long id) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(id);
+        return itemDto;
+    }
+
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,13 +13,17 @@ import ru.practicum.shareit.user.model.User;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemServiceImplIntegrationTest {
 
@@ -50,4 +56,30 @@ class ItemServiceImplIntegrationTest {
         assertThat(item.getAvailable(), equalTo(item1.getAvailable()));
     }
 
-}
\ No newline at end of file
+    @Test
+    void createAllWhenManyItemsThenInsertsAreBatched() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@yandex.ru");
+        em.persist(owner);
+        em.flush();
+        List<ItemDto> itemDtos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ItemDto itemDto = new ItemDto();
+            itemDto.setName("name" + i);
+            itemDto.setDescription("description" + i);
+            itemDto.setAvailable(true);
+            itemDtos.add(itemDto);
+        }
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemDto> items = service.createAll(owner.getId(), itemDtos);
+        em.flush();
+
+        assertThat(items, hasSize(200));
+        assertThat(statistics.getEntityInsertCount(), equalTo(200L));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(10L));
+    }
+
+}
@@ -7,6 +7,7 @@ import org.mapstruct.factory.Mappers;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 import ru.practicum.shareit.booking.dto.BookingDtoMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
@@ -18,6 +19,8 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.SearchMode;
 import ru.practicum.shareit.pagination.CustomPageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -28,6 +31,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -46,6 +50,8 @@ class ItemServiceImplTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -151,6 +157,7 @@ class ItemServiceImplTest {
 
         assertEquals(expectedItemDto, item);
         verify(itemRepository).save(Mockito.any(Item.class));
+        verify(itemSearchIndex).index(expectedItem);
     }
 
     @Test
@@ -177,6 +184,31 @@ class ItemServiceImplTest {
         verify(itemRepository).save(Mockito.any(Item.class));
     }
 
+    @Test
+    void createAllWhenOwnerFoundThenSavedItemsInOneCall() {
+        requestItemDto.setRequestId(requestId);
+        expectedItem.setRequest(request);
+        expectedItemDto = itemDtoMapper.itemToDto(expectedItem);
+        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        Mockito.when(itemRequestRepository.findAllById(Set.of(requestId))).thenReturn(List.of(request));
+        Mockito.when(itemRepository.saveAll(Mockito.anyList())).thenReturn(List.of(expectedItem, expectedItem));
+
+        List<ItemDto> items = itemService.createAll(ownerId, List.of(requestItemDto, requestItemDto));
+
+        assertEquals(List.of(expectedItemDto, expectedItemDto), items);
+        verify(itemRequestRepository, Mockito.never()).findById(Mockito.anyLong());
+        verify(itemSearchIndex, Mockito.times(2)).index(expectedItem);
+    }
+
+    @Test
+    void createAllWhenOwnerNotFoundThenNotSavedItems() {
+        Mockito.when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.createAll(ownerId, List.of(requestItemDto)));
+
+        verify(itemRepository, Mockito.never()).saveAll(Mockito.anyList());
+    }
+
     @Test
     void getAllByOwnerWhenInvokedThenReturnedListOfItems() {
         List<Item> expectedItems = List.of(new Item());
@@ -189,6 +221,45 @@ class ItemServiceImplTest {
         assertEquals(expectedItemsDto, items);
     }
 
+    @Test
+    void getAllByOwnerWhenItemsHaveBookingsThenReturnedItemsWithLastBookingAndNextBooking() {
+        lastBooking.setItem(expectedItem);
+        nextBooking.setItem(expectedItem);
+        Mockito.when(itemRepository.findAllByOwnerIdOrderByIdAsc(ownerId, page)).thenReturn(List.of(expectedItem));
+        Mockito.when(bookingRepository.findAllLastByItemIdInAndStatus(Mockito.eq(List.of(id)),
+                Mockito.any(LocalDateTime.class), Mockito.eq(Status.APPROVED))).thenReturn(List.of(lastBooking));
+        Mockito.when(bookingRepository.findAllNextByItemIdInAndStatus(Mockito.eq(List.of(id)),
+                Mockito.any(LocalDateTime.class), Mockito.eq(Status.APPROVED))).thenReturn(List.of(nextBooking));
+
+        List<ItemDto> items = itemService.getAllByOwner(ownerId, from, size);
+
+        assertEquals(List.of(expectedItemDtoWithBookings), items);
+    }
+
+    @Test
+    void getAllByOwnerWhenItemsHaveCommentsThenReturnedItemsWithComments() {
+        expectedComment.setItem(expectedItem);
+        expectedItemDto.setComments(List.of(expectedCommentDto));
+        Mockito.when(itemRepository.findAllByOwnerIdOrderByIdAsc(ownerId, page)).thenReturn(List.of(expectedItem));
+        Mockito.when(commentRepository.findAllByItemIdIn(List.of(id))).thenReturn(List.of(expectedComment));
+
+        List<ItemDto> items = itemService.getAllByOwner(ownerId, from, size);
+
+        assertEquals(List.of(expectedItemDto), items);
+        verify(commentRepository, Mockito.never()).findAllByItemId(Mockito.anyLong());
+    }
+
+    @Test
+    void getAllByOwnerWhenOwnerHasNoItemsThenReturnedEmptyList() {
+        Mockito.when(itemRepository.findAllByOwnerIdOrderByIdAsc(ownerId, page)).thenReturn(Collections.emptyList());
+
+        List<ItemDto> items = itemService.getAllByOwner(ownerId, from, size);
+
+        assertEquals(Collections.emptyList(), items);
+        verify(bookingRepository, Mockito.never()).findAllLastByItemIdInAndStatus(Mockito.anyCollection(),
+                Mockito.any(LocalDateTime.class), Mockito.any(Status.class));
+    }
+
     @Test
     void getByIdWhenItemFoundAndRequestNotFromOwnerThenReturnedItemWithoutLastBooking() {
         Long userId = 99L;
@@ -311,6 +382,7 @@ class ItemServiceImplTest {
         itemService.delete(id);
 
         verify(itemRepository, Mockito.times(1)).deleteById(id);
+        verify(itemSearchIndex).remove(id);
     }
 
     @Test
@@ -325,6 +397,59 @@ class ItemServiceImplTest {
         assertEquals(expectedItemsDto, items);
     }
 
+    @Test
+    void searchByTextWhenFullTextModeThenSearchedByPrefixQuery() {
+        ReflectionTestUtils.setField(itemService, "searchMode", SearchMode.FULL_TEXT);
+        List<Item> expectedItems = List.of(expectedItem);
+        List<ItemDto> expectedItemsDto = itemDtoMapper.itemToDto(expectedItems);
+        Mockito.when(itemRepository.findAllAvailableByFullText("дрель:* & аккум:*", page)).thenReturn(expectedItems);
+
+        List<ItemDto> items = itemService.searchByText(ownerId, " дрель, аккум!", from, size);
+
+        assertEquals(expectedItemsDto, items);
+        verify(itemRepository, Mockito.never()).findAllAvailableByText(Mockito.anyString(), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void searchByTextWhenInMemoryModeThenItemsHydratedInIndexOrder() {
+        ReflectionTestUtils.setField(itemService, "searchMode", SearchMode.IN_MEMORY);
+        item.setName("name");
+        item.setAvailable(true);
+        List<Long> ids = List.of(itemId, id);
+        Mockito.when(itemSearchIndex.search("name", page.getOffset(), page.getPageSize())).thenReturn(ids);
+        Mockito.when(itemRepository.findAllById(ids)).thenReturn(List.of(expectedItem, item));
+
+        List<ItemDto> items = itemService.searchByText(ownerId, "name", from, size);
+
+        assertEquals(itemDtoMapper.itemToDto(List.of(item, expectedItem)), items);
+        verify(itemRepository, Mockito.never()).findAllAvailableByText(Mockito.anyString(), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void searchByTextWhenInMemoryIndexStaleThenUnavailableItemsSkipped() {
+        ReflectionTestUtils.setField(itemService, "searchMode", SearchMode.IN_MEMORY);
+        item.setName("name");
+        item.setAvailable(false);
+        List<Long> ids = List.of(itemId, id);
+        Mockito.when(itemSearchIndex.search("name", page.getOffset(), page.getPageSize())).thenReturn(ids);
+        Mockito.when(itemRepository.findAllById(ids)).thenReturn(List.of(expectedItem, item));
+
+        List<ItemDto> items = itemService.searchByText(ownerId, "name", from, size);
+
+        assertEquals(itemDtoMapper.itemToDto(List.of(expectedItem)), items);
+    }
+
+    @Test
+    void searchByTextWhenFullTextModeAndNoWordsThenReturnedEmptyList() {
+        ReflectionTestUtils.setField(itemService, "searchMode", SearchMode.FULL_TEXT);
+
+        List<ItemDto> items = itemService.searchByText(ownerId, "!?", from, size);
+
+        assertEquals(Collections.emptyList(), items);
+        verify(itemRepository, Mockito.never()).findAllAvailableByFullText(Mockito.anyString(),
+                Mockito.any(Pageable.class));
+    }
+
     @Test
     void searchByyTextWhenTextEmptyThenReturnedEmptyList() {
         String text = "";
@@ -10,6 +10,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.pagination.CustomPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -156,4 +157,42 @@ class ItemRequestServiceImplTest {
         assertEquals(expectedItemRequestsDto, itemRequests);
     }
 
-}
\ No newline at end of file
+    @Test
+    void getAllWhenRequestsHaveItemsThenItemsLoadedInOneQuery() {
+        ItemRequest firstRequest = new ItemRequest();
+        firstRequest.setId(1L);
+        ItemRequest secondRequest = new ItemRequest();
+        secondRequest.setId(2L);
+        Item item1 = new Item();
+        item1.setId(1L);
+        item1.setRequest(firstRequest);
+        Item item2 = new Item();
+        item2.setId(2L);
+        item2.setRequest(firstRequest);
+        Mockito.when(itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId, page))
+                .thenReturn(List.of(firstRequest, secondRequest));
+        Mockito.when(itemRepository.findAllByRequestIdInOrderByIdAsc(List.of(1L, 2L)))
+                .thenReturn(List.of(item1, item2));
+
+        List<ItemRequestDtoForResponse> itemRequests = itemRequestService.getAll(userId, from, size);
+
+        assertEquals(2, itemRequests.size());
+        assertEquals(2, itemRequests.get(0).getItems().size());
+        assertEquals(1L, itemRequests.get(0).getItems().get(0).getRequestId());
+        assertEquals(Collections.emptyList(), itemRequests.get(1).getItems());
+        verify(itemRepository, Mockito.times(1)).findAllByRequestIdInOrderByIdAsc(Mockito.anyCollection());
+        verify(itemRepository, Mockito.never()).findAllByRequestIdOrderByIdAsc(Mockito.anyLong());
+    }
+
+    @Test
+    void getAllWhenNoRequestsThenItemsNotLoaded() {
+        Mockito.when(itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDesc(userId, page))
+                .thenReturn(Collections.emptyList());
+
+        List<ItemRequestDtoForResponse> itemRequests = itemRequestService.getAll(userId, from, size);
+
+        assertEquals(Collections.emptyList(), itemRequests);
+        verify(itemRepository, Mockito.never()).findAllByRequestIdInOrderByIdAsc(Mockito.anyCollection());
+    }
+
+}
@@ -8,7 +8,9 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.EtagConfig;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -17,9 +19,11 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
+@Import(EtagConfig.class)
 class UserControllerIntegrationTest {
 
     @Autowired
@@ -89,6 +93,28 @@ class UserControllerIntegrationTest {
         verify(userService).getById(userId);
     }
 
+    @SneakyThrows
+    @Test
+    void getByIdWhenEtagMatchesThenReturnedNotModified() {
+        Long userId = 1L;
+        Mockito.when(userService.getById(Mockito.anyLong())).thenReturn(userDto);
+        String etag = mockMvc.perform(get("/users/{id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        String result = mockMvc.perform(get("/users/{id}", userId)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals("", result);
+    }
+
     @SneakyThrows
     @Test
     void updateWhenUserIsValidThenReturnedUpdatedUser() {